@@ -0,0 +1,81 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.attendance.AttendanceResponse;
+import com.eventmanagement.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per (event, user) cache of attendance responses. Writes go through after commit and
+ * overwrite whatever is cached, while reads only fill empty slots, so a read racing with
+ * a write can never leave the older response behind. Users that have not responded are
+ * cached too, as a response without a status.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceStatusCache {
+
+    static final String ATTENDANCE_STATUS = "attendanceStatus";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Cached response of the user, empty on a cache miss
+     */
+    public Optional<AttendanceResponse> get(UUID eventId, UUID userId) {
+        Cache cache = cacheManager.getCache(ATTENDANCE_STATUS);
+        if (cache == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(key(eventId, userId), AttendanceResponse.class));
+    }
+
+    /**
+     * Fill the cache from a read, unless a write already cached a newer response
+     */
+    public void putIfAbsent(AttendanceResponse response) {
+        Cache cache = cacheManager.getCache(ATTENDANCE_STATUS);
+        if (cache != null) {
+            cache.putIfAbsent(key(response), response);
+        }
+    }
+
+    /**
+     * Remember that the user has not responded to the event yet
+     */
+    public void putNotResponded(UUID eventId, UUID userId) {
+        AttendanceResponse notResponded = new AttendanceResponse();
+        notResponded.setEventId(eventId.toString());
+        notResponded.setUserId(userId.toString());
+        putIfAbsent(notResponded);
+    }
+
+    /**
+     * Write the response through once the transaction that stored it commits
+     */
+    public void putAfterCommit(AttendanceResponse response) {
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(ATTENDANCE_STATUS);
+            if (cache != null) {
+                cache.put(key(response), response);
+            }
+        });
+    }
+
+    public static boolean isNotResponded(AttendanceResponse response) {
+        return response.getStatus() == null;
+    }
+
+    private String key(AttendanceResponse response) {
+        return response.getEventId() + ":" + response.getUserId();
+    }
+
+    private String key(UUID eventId, UUID userId) {
+        return eventId + ":" + userId;
+    }
+}
@@ -0,0 +1,278 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.entity.Visibility;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hand-written binary codec for the event cache values. {@link EventResponse} and pages of it
+ * are written field by field (UUIDs as 16 bytes, dates as epoch seconds, numbers as varints)
+ * with no class names or property names; any other value falls back to the JSON serializer.
+ * <p>
+ * Every value starts with {@link #FORMAT_VERSION}. Values written with another version decode
+ * to {@code null}, which the cache treats as a miss, so changing the layout below only needs
+ * a version bump.
+ */
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_VERSION = 3;
+
+    private static final byte KIND_JSON = 0;
+    private static final byte KIND_EVENT = 1;
+    private static final byte KIND_EVENT_PAGE = 2;
+
+    private static final byte STRING_NULL = 0;
+    private static final byte STRING_UUID = 1;
+    private static final byte STRING_TEXT = 2;
+
+    private final RedisSerializer<Object> fallback;
+
+    public BinaryCacheValueSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+
+            if (value instanceof EventResponse event) {
+                out.writeByte(KIND_EVENT);
+                writeEvent(out, event);
+            } else if (isEventPage(value)) {
+                out.writeByte(KIND_EVENT_PAGE);
+                writePage(out, (Page<?>) value);
+            } else {
+                out.writeByte(KIND_JSON);
+                out.write(fallback.serialize(value));
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2));
+            return switch (bytes[1]) {
+                case KIND_EVENT -> readEvent(in);
+                case KIND_EVENT_PAGE -> readPage(in);
+                case KIND_JSON -> fallback.deserialize(Arrays.copyOfRange(bytes, 2, bytes.length));
+                default -> null;
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    private boolean isEventPage(Object value) {
+        return value instanceof Page<?> page
+                && page.getContent().stream().allMatch(EventResponse.class::isInstance);
+    }
+
+    private void writeEvent(DataOutputStream out, EventResponse event) throws IOException {
+        writeString(out, event.getId());
+        writeString(out, event.getTitle());
+        writeString(out, event.getDescription());
+        writeString(out, event.getHostId());
+        writeString(out, event.getHostName());
+        writeDateTime(out, event.getStartTime());
+        writeDateTime(out, event.getEndTime());
+        writeString(out, event.getLocation());
+        // Ordinal based, reordering Visibility needs a FORMAT_VERSION bump
+        out.writeByte(event.getVisibility() != null ? event.getVisibility().ordinal() + 1 : 0);
+        writeVarLong(out, event.getCapacity() != null ? event.getCapacity() : -1);
+        writeVarLong(out, event.getAttendeeCount());
+        writeVarLong(out, event.getGoingCount());
+        writeVarLong(out, event.getMaybeCount());
+        writeVarLong(out, event.getDeclinedCount());
+        writeDateTime(out, event.getCreatedAt());
+        writeDateTime(out, event.getUpdatedAt());
+        writeVarLong(out, event.getVersion() != null ? event.getVersion() : -1);
+    }
+
+    private EventResponse readEvent(DataInputStream in) throws IOException {
+        EventResponse event = new EventResponse();
+        event.setId(readString(in));
+        event.setTitle(readString(in));
+        event.setDescription(readString(in));
+        event.setHostId(readString(in));
+        event.setHostName(readString(in));
+        event.setStartTime(readDateTime(in));
+        event.setEndTime(readDateTime(in));
+        event.setLocation(readString(in));
+        int visibility = in.readByte();
+        event.setVisibility(visibility > 0 ? Visibility.values()[visibility - 1] : null);
+        long capacity = readVarLong(in);
+        event.setCapacity(capacity >= 0 ? (int) capacity : null);
+        event.setAttendeeCount(readVarLong(in));
+        event.setGoingCount(readVarLong(in));
+        event.setMaybeCount(readVarLong(in));
+        event.setDeclinedCount(readVarLong(in));
+        event.setCreatedAt(readDateTime(in));
+        event.setUpdatedAt(readDateTime(in));
+        long version = readVarLong(in);
+        event.setVersion(version >= 0 ? version : null);
+        return event;
+    }
+
+    private void writePage(DataOutputStream out, Page<?> page) throws IOException {
+        Pageable pageable = page.getPageable();
+        out.writeBoolean(pageable.isPaged());
+        if (pageable.isPaged()) {
+            writeVarLong(out, pageable.getPageNumber());
+            writeVarLong(out, pageable.getPageSize());
+            List<Sort.Order> orders = pageable.getSort().toList();
+            writeVarLong(out, orders.size());
+            for (Sort.Order order : orders) {
+                writeString(out, order.getProperty());
+                out.writeBoolean(order.isAscending());
+            }
+        }
+        writeVarLong(out, page.getTotalElements());
+        writeVarLong(out, page.getNumberOfElements());
+        for (Object event : page.getContent()) {
+            writeEvent(out, (EventResponse) event);
+        }
+    }
+
+    private Page<EventResponse> readPage(DataInputStream in) throws IOException {
+        Pageable pageable = Pageable.unpaged();
+        if (in.readBoolean()) {
+            int pageNumber = (int) readVarLong(in);
+            int pageSize = (int) readVarLong(in);
+            int orderCount = (int) readVarLong(in);
+            List<Sort.Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                String property = readString(in);
+                orders.add(in.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+            }
+            pageable = PageRequest.of(pageNumber, pageSize, Sort.by(orders));
+        }
+        long total = readVarLong(in);
+        int size = (int) readVarLong(in);
+        List<EventResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(readEvent(in));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(STRING_NULL);
+            return;
+        }
+        UUID uuid = parseUuid(value);
+        if (uuid != null) {
+            out.writeByte(STRING_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(STRING_TEXT);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case STRING_NULL -> null;
+            case STRING_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case STRING_TEXT -> {
+                byte[] utf8 = new byte[(int) readVarLong(in)];
+                in.readFully(utf8);
+                yield new String(utf8, StandardCharsets.UTF_8);
+            }
+            default -> throw new IOException("Unknown string tag " + tag);
+        };
+    }
+
+    private void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, value.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(out, value.getNano());
+        }
+    }
+
+    private LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = readVarLong(in);
+        int nano = (int) readVarLong(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    // Zig-zag varint, small non negative numbers take a single byte
+    private void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    // Only canonical lower-case UUIDs are packed, so decoding gives back the same string
+    private UUID parseUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventmanagement.cache;
+
+//CacheCodec enum for define how cache values are written to Redis
+public enum CacheCodec {
+    JSON,
+    BINARY
+}
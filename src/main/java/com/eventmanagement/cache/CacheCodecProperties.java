@@ -0,0 +1,21 @@
+package com.eventmanagement.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Value codec used for each Redis cache, caches not listed use JSON
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheCodecProperties {
+
+    private Map<String, CacheCodec> codecs = new HashMap<>();
+
+    public CacheCodec codecFor(String cacheName) {
+        return codecs.getOrDefault(cacheName, CacheCodec.JSON);
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.UserRepository;
+import jakarta.persistence.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drops local tier entries invalidated by other application nodes, together with the Hibernate
+ * second-level cache entry of the same event or user, so this node does not load the old row
+ * from its entity cache into the shared caches again. A changed user also drops the query cache
+ * region of the lookups by email: the update timestamps the query cache checks its results against
+ * are per node and never see the writes of other nodes.
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    // Spring caches keyed by entity id, with the entity cached in the second-level cache
+    private static final Map<String, Class<?>> ENTITY_CACHES = Map.of(
+            EventCacheInvalidator.EVENTS, Event.class,
+            UserDirectory.USERS, User.class);
+
+    // Spring caches whose invalidation makes a query cache region stale
+    private static final Map<String, String> QUERY_REGIONS = Map.of(
+            UserDirectory.USERS, UserRepository.EMAIL_QUERY_REGION,
+            UserDirectory.USER_EMAILS, UserRepository.EMAIL_QUERY_REGION);
+
+    private final TwoLevelCacheManager cacheManager;
+    private final Cache entityCache;
+    private final String nodeId;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, Cache entityCache, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.entityCache = entityCache;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        String cacheName = parts[2];
+        Class<?> entityClass = ENTITY_CACHES.get(cacheName);
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[1])) {
+            cacheManager.clearLocal(cacheName);
+            if (entityClass != null) {
+                entityCache.evict(entityClass);
+            }
+        } else {
+            cacheManager.evictLocal(cacheName, parts[3]);
+            if (entityClass != null) {
+                evictEntity(entityClass, parts[3]);
+            }
+        }
+        String queryRegion = QUERY_REGIONS.get(cacheName);
+        if (queryRegion != null) {
+            entityCache.unwrap(org.hibernate.Cache.class).evictQueryRegion(queryRegion);
+        }
+        log.debug("Applied remote cache invalidation {} on {} {}", parts[1], cacheName, parts[3]);
+    }
+
+    private void evictEntity(Class<?> entityClass, String key) {
+        try {
+            entityCache.evict(entityClass, UUID.fromString(key));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalidation of {} with a non id key {}", entityClass.getSimpleName(), key);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventmanagement.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts local tier invalidations to the other application nodes over Redis pub/sub.
+ * Messages are {@code nodeId|op|cacheName|key}, where op is E (evict key) or C (clear cache).
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String topic) {
+        this.redisTemplate = redisTemplate;
+        this.topic = topic;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(EVICT, cacheName, key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR, cacheName, "");
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(topic, String.join("|", nodeId, op, cacheName, key));
+        } catch (RuntimeException e) {
+            // Peers still drop the entry once their local time-to-live expires
+            log.warn("Could not publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventmanagement.cache;
+
+/**
+ * A response body as written to the client: the UTF-8 JSON, its gzip encoding when the body is
+ * large enough to be worth compressing, and the ETag of the value it was rendered from.
+ */
+public record CachedResponse(String eTag, byte[] json, byte[] gzip) {
+
+    /**
+     * ETag of the gzip encoding, a strong ETag has to differ between encodings of the same value
+     */
+    public String gzipETag() {
+        return eTag.endsWith("\"")
+                ? eTag.substring(0, eTag.length() - 1) + "-gzip\""
+                : eTag + "-gzip";
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventmanagement.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Redis codec of the response bytes caches. The bodies are stored as they are, length prefixed
+ * after the ETag, so a hit is copied to the client without being parsed.
+ * <p>
+ * Every value starts with {@link #FORMAT_VERSION}, values written with another version decode
+ * to {@code null}, which the cache treats as a miss.
+ */
+public class CachedResponseSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_VERSION = 1;
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!(value instanceof CachedResponse response)) {
+            throw new SerializationException("Not a cached response: " + value.getClass().getName());
+        }
+
+        int gzipLength = response.gzip() != null ? response.gzip().length : 0;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.json().length + gzipLength + 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(response.eTag());
+            out.writeInt(response.json().length);
+            out.write(response.json());
+            out.writeInt(response.gzip() != null ? gzipLength : -1);
+            if (response.gzip() != null) {
+                out.write(response.gzip());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cached response", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            String eTag = in.readUTF();
+            byte[] json = in.readNBytes(in.readInt());
+            int gzipLength = in.readInt();
+            byte[] gzip = gzipLength >= 0 ? in.readNBytes(gzipLength) : null;
+            return new CachedResponse(eTag, json, gzip);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cached response", e);
+        }
+    }
+}
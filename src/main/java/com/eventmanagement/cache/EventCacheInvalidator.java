@@ -0,0 +1,204 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Evicts exactly the cache entries affected by an event or attendance change. The affected
+ * keys are worked out inside the writing transaction and evicted once it commits, so readers
+ * cannot repopulate the cache with data from before the change. The upcoming event index
+ * is updated at the same point, and the rendered bodies of {@link ResponseBytesCache} are
+ * evicted along with the values they were rendered from.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventCacheInvalidator {
+
+    static final String EVENTS = "events";
+    static final String UPCOMING_EVENTS = "upcomingEvents";
+
+    // Caches of rendered bodies keyed like the value caches they are rendered from
+    private static final Map<String, String> RESPONSE_BYTES = Map.of(
+            EVENTS, ResponseBytesCache.EVENT_BYTES,
+            UPCOMING_EVENTS, ResponseBytesCache.UPCOMING_EVENT_BYTES);
+
+    private final CacheManager cacheManager;
+    private final EventRepository eventRepository;
+    private final UpcomingPageKeys upcomingPageKeys;
+    private final UpcomingEventIndex upcomingEventIndex;
+
+    /**
+     * A new event shifts every upcoming page from its position onwards
+     */
+    public void eventCreated(Event event) {
+        List<String> upcomingKeys = new ArrayList<>();
+        if (event.isUpcoming()) {
+            upcomingKeys.addAll(upcomingPageKeys.keysCovering(positionOf(event.getStartTime()), Long.MAX_VALUE));
+        }
+        UUID eventId = event.getId();
+        LocalDateTime startTime = event.getStartTime();
+        AfterCommit.run(() -> {
+            evict(UPCOMING_EVENTS, upcomingKeys);
+            upcomingEventIndex.eventSaved(eventId, startTime);
+        });
+    }
+
+    /**
+     * Capture the position of an event before it is modified, see {@link #eventUpdated}
+     */
+    public Long upcomingPosition(Event event) {
+        return event.isUpcoming() ? positionOf(event.getStartTime()) : null;
+    }
+
+    /**
+     * An updated event changes its own page, and when it moved, every page between its old and new position
+     */
+    public void eventUpdated(Event event, Long previousPosition) {
+        Long currentPosition = event.isUpcoming() ? positionOf(event.getStartTime()) : null;
+
+        List<String> upcomingKeys = new ArrayList<>();
+        if (previousPosition != null || currentPosition != null) {
+            long from = Math.min(orMax(previousPosition), orMax(currentPosition));
+            long to = previousPosition != null && currentPosition != null
+                    ? Math.max(previousPosition, currentPosition)
+                    : Long.MAX_VALUE;
+            upcomingKeys.addAll(upcomingPageKeys.keysCovering(from, to));
+        }
+        UUID eventId = event.getId();
+        LocalDateTime startTime = event.getStartTime();
+        AfterCommit.run(() -> {
+            evict(EVENTS, List.of(eventId.toString()));
+            evict(UPCOMING_EVENTS, upcomingKeys);
+            upcomingEventIndex.eventSaved(eventId, startTime);
+        });
+    }
+
+    /**
+     * A deleted event shifts every upcoming page from its position onwards
+     */
+    public void eventDeleted(Event event) {
+        List<String> upcomingKeys = new ArrayList<>();
+        if (event.isUpcoming()) {
+            upcomingKeys.addAll(upcomingPageKeys.keysCovering(positionOf(event.getStartTime()), Long.MAX_VALUE));
+        }
+        UUID eventId = event.getId();
+        AfterCommit.run(() -> {
+            evict(EVENTS, List.of(eventId.toString()));
+            evict(UPCOMING_EVENTS, upcomingKeys);
+            upcomingEventIndex.eventRemoved(eventId);
+        });
+    }
+
+    /**
+     * A bulk import can touch any upcoming page, so the pages are cleared and the index reloaded once
+     */
+    public void eventsImported() {
+        AfterCommit.run(() -> {
+            for (String cacheName : List.of(UPCOMING_EVENTS, RESPONSE_BYTES.get(UPCOMING_EVENTS))) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            upcomingEventIndex.reload();
+        });
+    }
+
+    /**
+     * A response only changes the counts of its event, so only the pages showing that event are evicted
+     */
+    public void attendanceChanged(Event event) {
+        attendanceChanged(event.getId(), event.getStartTime());
+    }
+
+    /**
+     * Same as {@link #attendanceChanged(Event)} for writes that did not load the event
+     */
+    public void attendanceChanged(UUID eventId, LocalDateTime startTime) {
+        List<String> upcomingKeys = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        if (startTime.isAfter(now)) {
+            upcomingKeys.addAll(pagesShowing(now, startTime, startTime));
+        }
+        evictAfterCommit(List.of(eventId.toString()), upcomingKeys);
+    }
+
+    /**
+     * Same as {@link #attendanceChanged(Event)} for a batch of responses. The positions are counted
+     * once for the batch, every page from its earliest to its latest upcoming event is evicted.
+     */
+    public void attendanceChanged(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<String> eventKeys = events.stream()
+                .map(event -> event.getId().toString())
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> upcomingStartTimes = events.stream()
+                .map(Event::getStartTime)
+                .filter(startTime -> startTime.isAfter(now))
+                .toList();
+
+        List<String> upcomingKeys = new ArrayList<>();
+        if (!upcomingStartTimes.isEmpty()) {
+            upcomingKeys.addAll(pagesShowing(now, Collections.min(upcomingStartTimes), Collections.max(upcomingStartTimes)));
+        }
+        evictAfterCommit(eventKeys, upcomingKeys);
+    }
+
+    // Keys of the pages showing any event starting from the first to the last start time, inclusive
+    private List<String> pagesShowing(LocalDateTime now, LocalDateTime firstStartTime, LocalDateTime lastStartTime) {
+        long first = eventRepository.countByStartTimeAfterAndStartTimeBefore(now, firstStartTime);
+        long last = eventRepository.countByStartTimeAfterAndStartTimeLessThanEqual(now, lastStartTime) - 1;
+        return upcomingPageKeys.keysCovering(first, Math.max(first, last));
+    }
+
+    // Zero based position of the first event starting at the given time in the upcoming listing
+    private long positionOf(LocalDateTime startTime) {
+        return eventRepository.countByStartTimeAfterAndStartTimeBefore(LocalDateTime.now(), startTime);
+    }
+
+    private long orMax(Long position) {
+        return position != null ? position : Long.MAX_VALUE;
+    }
+
+    private void evictAfterCommit(List<String> eventKeys, List<String> upcomingKeys) {
+        AfterCommit.run(() -> {
+            evict(EVENTS, eventKeys);
+            evict(UPCOMING_EVENTS, upcomingKeys);
+        });
+    }
+
+    private void evict(String cacheName, List<String> keys) {
+        evictFrom(cacheName, keys);
+        evictFrom(RESPONSE_BYTES.get(cacheName), keys);
+    }
+
+    private void evictFrom(String cacheName, List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        keys.forEach(cache::evict);
+        log.debug("Evicted {} entries from {}", keys.size(), cacheName);
+    }
+}
@@ -0,0 +1,40 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Approximate totals for slice listings. Counts are cached for the eventTotals TTL and
+ * never evicted on writes, so they may lag behind by that long.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventTotals {
+
+    static final String EVENT_TOTALS = "eventTotals";
+
+    private final EventRepository eventRepository;
+
+    @Cacheable(value = EVENT_TOTALS, key = "'upcoming'")
+    public long upcoming() {
+        return eventRepository.countByStartTimeAfter(LocalDateTime.now());
+    }
+
+    @Cacheable(value = EVENT_TOTALS, key = "'hosted:' + #hostId")
+    public long hostedBy(UUID hostId) {
+        return eventRepository.countByHostId(hostId);
+    }
+
+    @Cacheable(value = EVENT_TOTALS,
+            key = "'criteria:' + #visibility + ':' + #location + ':' + #startDate + ':' + #endDate")
+    public long byCriteria(Visibility visibility, String location,
+                           LocalDateTime startDate, LocalDateTime endDate) {
+        return eventRepository.countEventsByCriteria(visibility, location, startDate, endDate);
+    }
+}
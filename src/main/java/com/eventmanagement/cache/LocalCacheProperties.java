@@ -0,0 +1,37 @@
+package com.eventmanagement.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounds of the in-process tier sitting in front of Redis, with optional per cache overrides
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.local")
+public class LocalCacheProperties {
+
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofSeconds(30);
+    private String invalidationTopic = "cache-invalidation";
+    private Map<String, Spec> caches = new HashMap<>();
+
+    public long maximumSizeFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getMaximumSize() != null ? spec.getMaximumSize() : maximumSize;
+    }
+
+    public Duration timeToLiveFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getTimeToLive() != null ? spec.getTimeToLive() : timeToLive;
+    }
+
+    @Data
+    public static class Spec {
+        private Long maximumSize;
+        private Duration timeToLive;
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.transaction.PrimaryReads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendered bodies of the hottest reads, event details and the first upcoming pages, under the
+ * same keys as the events and upcomingEvents caches. A hit is written to the client as it is,
+ * without turning the cached value back into objects and the objects into JSON again.
+ * {@link EventCacheInvalidator} evicts both caches at the same points.
+ * <p>
+ * Upcoming pages are kept under the same condition as the upcomingEvents cache. Pages served
+ * from {@link UpcomingEventIndex} are rendered on every call: nothing evicts a page when one
+ * of its events starts, and the index is what keeps those pages time-correct.
+ * <p>
+ * Rendered with the ObjectMapper of the MVC message converters, so a cached body is byte for
+ * byte what the controller would have written.
+ */
+@Component
+public class ResponseBytesCache {
+
+    public static final String EVENT_BYTES = "eventBytes";
+    public static final String UPCOMING_EVENT_BYTES = "upcomingEventBytes";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final UpcomingPageKeys upcomingPageKeys;
+    private final UpcomingEventIndex upcomingEventIndex;
+    private final boolean gzip;
+    private final int gzipMinSize;
+
+    public ResponseBytesCache(CacheManager cacheManager,
+                              ObjectMapper objectMapper,
+                              UpcomingPageKeys upcomingPageKeys,
+                              UpcomingEventIndex upcomingEventIndex,
+                              @Value("${app.cache.response-bytes.gzip:true}") boolean gzip,
+                              @Value("${app.cache.response-bytes.gzip-min-size:1024}") int gzipMinSize) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.upcomingPageKeys = upcomingPageKeys;
+        this.upcomingEventIndex = upcomingEventIndex;
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /**
+     * Body of an event, the loader runs on a miss and its exceptions reach the caller
+     */
+    public <T> CachedResponse event(UUID eventId, Supplier<T> loader, Function<T, String> eTag) {
+        return get(EVENT_BYTES, eventId.toString(), loader, eTag);
+    }
+
+    /**
+     * Body of an upcoming page, rendered on every call for pages the upcomingEvents cache doesn't keep
+     */
+    public <T> CachedResponse upcomingPage(Pageable pageable, Supplier<T> loader, Function<T, String> eTag) {
+        boolean cacheable = upcomingPageKeys.isCacheable(pageable) && !upcomingEventIndex.serves(pageable);
+        String key = cacheable ? upcomingPageKeys.key(pageable) : null;
+        return get(UPCOMING_EVENT_BYTES, key, loader, eTag);
+    }
+
+    private <T> CachedResponse get(String cacheName, String key, Supplier<T> loader, Function<T, String> eTag) {
+        Cache cache = key != null ? cacheManager.getCache(cacheName) : null;
+        CachedResponse cached = cache != null ? cache.get(key, CachedResponse.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        // The loaders fill the value caches too, see PrimaryReads
+        T value = PrimaryReads.call(loader);
+        CachedResponse response = render(value, eTag.apply(value));
+        if (cache != null) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    private CachedResponse render(Object value, String eTag) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render " + value.getClass().getSimpleName(), e);
+        }
+        // Small bodies barely shrink and cost the client a decompression
+        return new CachedResponse(eTag, json, gzip && json.length >= gzipMinSize ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
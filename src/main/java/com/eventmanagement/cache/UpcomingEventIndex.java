@@ -0,0 +1,275 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.event.EventStartTime;
+import com.eventmanagement.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process index of the upcoming events ordered by (startTime, id). Reads walk a skip list
+ * without locking and drop the events that have started, so pages are always time-correct.
+ * Writes are applied once the writing transaction commits and broadcast to the other nodes
+ * over Redis pub/sub as {@code nodeId|op|eventId|startTime}, where op is S (saved), R (removed)
+ * or B (rebuild from the database).
+ * The index is rebuilt from the database at startup and periodically, which also repairs
+ * anything a node missed while Redis was unavailable.
+ */
+@Slf4j
+@Component("upcomingEventIndex")
+public class UpcomingEventIndex implements MessageListener {
+
+    static final String SAVED = "S";
+    static final String REMOVED = "R";
+    static final String REBUILD = "B";
+
+    private static final Comparator<EventStartTime> ORDER = Comparator
+            .comparing(EventStartTime::getStartTime)
+            .thenComparing(EventStartTime::getId);
+
+    private final EventRepository eventRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final boolean enabled;
+    private final String topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Writers and rebuilds are serialized, readers only follow the volatile reference
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Entries entries = new Entries();
+    private volatile boolean ready;
+    private List<Consumer<Entries>> writesDuringRebuild;
+
+    public UpcomingEventIndex(EventRepository eventRepository,
+                              ObjectProvider<StringRedisTemplate> redisTemplate,
+                              @Value("${app.cache.upcoming.index.enabled:true}") boolean enabled,
+                              @Value("${app.cache.upcoming.index.topic:upcoming-index}") String topic) {
+        this.eventRepository = eventRepository;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.topic = topic;
+    }
+
+    /**
+     * Whether a page can be served from the index, sorted requests still go to the database
+     */
+    public boolean serves(Pageable pageable) {
+        return ready && pageable.isPaged() && pageable.getSort().isUnsorted();
+    }
+
+    /**
+     * Ids of the events on the requested page, in listing order, with the number of upcoming events
+     */
+    public Window page(LocalDateTime now, long offset, int size) {
+        Entries current = entries;
+        current.pruneStarted(now);
+
+        List<UUID> eventIds = new ArrayList<>(size);
+        long skipped = 0;
+        Iterator<EventStartTime> iterator = current.ordered.iterator();
+        while (iterator.hasNext() && eventIds.size() < size) {
+            EventStartTime entry = iterator.next();
+            if (!entry.getStartTime().isAfter(now)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            eventIds.add(entry.getId());
+        }
+        return new Window(eventIds, current.size.get());
+    }
+
+    /**
+     * An event was created or changed its start time
+     */
+    public void eventSaved(UUID eventId, LocalDateTime startTime) {
+        if (enabled) {
+            write(entries -> entries.put(eventId, startTime));
+            publish(SAVED, eventId, startTime.toString());
+        }
+    }
+
+    /**
+     * An event was deleted
+     */
+    public void eventRemoved(UUID eventId) {
+        if (enabled) {
+            write(entries -> entries.remove(eventId));
+            publish(REMOVED, eventId, "");
+        }
+    }
+
+    /**
+     * Reload the index on every node, used after bulk changes instead of one message per event
+     */
+    public void reload() {
+        if (enabled) {
+            rebuild();
+            publish(REBUILD, null, "");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        rebuild();
+    }
+
+    /**
+     * Reload the index from the database, writes arriving while it loads are replayed on top
+     */
+    @Scheduled(initialDelayString = "${app.cache.upcoming.index.refresh-interval:PT10M}",
+            fixedDelayString = "${app.cache.upcoming.index.refresh-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                writesDuringRebuild = new ArrayList<>();
+            }
+
+            List<EventStartTime> loaded;
+            try {
+                loaded = eventRepository.findUpcomingStartTimes(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    writesDuringRebuild = null;
+                }
+                log.warn("Could not load the upcoming event index: {}", e.getMessage());
+                return;
+            }
+
+            synchronized (writeLock) {
+                Entries rebuilt = new Entries();
+                loaded.forEach(entry -> rebuilt.put(entry.getId(), entry.getStartTime()));
+                writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                writesDuringRebuild = null;
+                entries = rebuilt;
+                ready = true;
+            }
+            log.info("Upcoming event index loaded with {} events", loaded.size());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        if (REBUILD.equals(parts[1])) {
+            rebuild();
+            return;
+        }
+
+        UUID eventId = UUID.fromString(parts[2]);
+        if (SAVED.equals(parts[1])) {
+            LocalDateTime startTime = LocalDateTime.parse(parts[3]);
+            write(entries -> entries.put(eventId, startTime));
+        } else {
+            write(entries -> entries.remove(eventId));
+        }
+        log.debug("Applied remote upcoming index update {} on {}", parts[1], eventId);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    private void write(Consumer<Entries> write) {
+        synchronized (writeLock) {
+            write.accept(entries);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        }
+    }
+
+    private void publish(String op, UUID eventId, String startTime) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.convertAndSend(topic, String.join("|", nodeId, op, eventId != null ? eventId.toString() : "", startTime));
+        } catch (RuntimeException e) {
+            // Peers pick the change up on their next rebuild
+            log.warn("Could not publish upcoming index update {} for {}: {}", op, eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * Page of event ids taken from the index
+     */
+    public record Window(List<UUID> eventIds, long total) {
+    }
+
+    private static final class Entries {
+
+        private final NavigableSet<EventStartTime> ordered = new ConcurrentSkipListSet<>(ORDER);
+        private final ConcurrentHashMap<UUID, EventStartTime> byId = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void put(UUID eventId, LocalDateTime startTime) {
+            if (!startTime.isAfter(LocalDateTime.now())) {
+                remove(eventId);
+                return;
+            }
+            EventStartTime entry = new EventStartTime(eventId, startTime);
+            EventStartTime previous = byId.put(eventId, entry);
+            if (previous != null && ordered.remove(previous)) {
+                size.decrementAndGet();
+            }
+            if (ordered.add(entry)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(UUID eventId) {
+            EventStartTime previous = byId.remove(eventId);
+            if (previous != null && ordered.remove(previous)) {
+                size.decrementAndGet();
+            }
+        }
+
+        // Readers race on the head, only the one whose remove succeeds updates the size
+        void pruneStarted(LocalDateTime now) {
+            EventStartTime head;
+            while ((head = first()) != null && !head.getStartTime().isAfter(now)) {
+                if (ordered.remove(head)) {
+                    byId.remove(head.getId(), head);
+                    size.decrementAndGet();
+                }
+            }
+        }
+
+        private EventStartTime first() {
+            Iterator<EventStartTime> iterator = ordered.iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.eventmanagement.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Key scheme of the upcomingEvents cache. Only the first pages of a fixed set of page sizes
+ * are cached, so the pages affected by a change can be enumerated and evicted one by one.
+ */
+@Component("upcomingPageKeys")
+public class UpcomingPageKeys {
+
+    private final Set<Integer> pageSizes;
+    private final int maxPages;
+
+    public UpcomingPageKeys(@Value("${app.cache.upcoming.page-sizes:10,20,50}") Set<Integer> pageSizes,
+                            @Value("${app.cache.upcoming.max-pages:5}") int maxPages) {
+        this.pageSizes = new TreeSet<>(pageSizes);
+        this.maxPages = maxPages;
+    }
+
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged()
+                && pageable.getSort().isUnsorted()
+                && pageSizes.contains(pageable.getPageSize())
+                && pageable.getPageNumber() < maxPages;
+    }
+
+    public String key(Pageable pageable) {
+        return key(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Keys of the cached pages holding any position from {@code fromPosition} to {@code toPosition}
+     * (zero based, inclusive), for every cached page size
+     */
+    public List<String> keysCovering(long fromPosition, long toPosition) {
+        List<String> keys = new ArrayList<>();
+        for (int size : pageSizes) {
+            long firstPage = fromPosition / size;
+            long lastPage = Math.min(toPosition / size, maxPages - 1L);
+            for (long page = firstPage; page <= lastPage; page++) {
+                keys.add(key(page, size));
+            }
+        }
+        return keys;
+    }
+
+    private String key(long pageNumber, int pageSize) {
+        return "page_" + pageNumber + "_size_" + pageSize;
+    }
+}
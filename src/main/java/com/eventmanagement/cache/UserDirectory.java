@@ -0,0 +1,120 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.user.UserSummary;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.transaction.AfterCommit;
+import com.eventmanagement.transaction.PrimaryReads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cached user lookups by id and by email. Entries are {@link UserSummary} values, so the
+ * password hash never leaves the database; credential checks still load the full user.
+ * Callers that change a user must call {@link #userChanged(UUID, String)}. Misses are read
+ * from the primary, see {@link PrimaryReads}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDirectory {
+
+    static final String USERS = "users";
+    static final String USER_EMAILS = "userEmails";
+
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+
+    /**
+     * Find a user by id, loading and caching it on a miss
+     */
+    public Optional<UserSummary> findById(UUID userId) {
+        return Optional.ofNullable(findAllById(List.of(userId)).get(userId));
+    }
+
+    /**
+     * Find a user by email, loading and caching it on a miss
+     */
+    public Optional<UserSummary> findByEmail(String email) {
+        Cache cache = cacheManager.getCache(USER_EMAILS);
+        UserSummary cached = cache != null ? cache.get(email, UserSummary.class) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserSummary> user = PrimaryReads.call(() -> userRepository.findSummaryByEmail(email));
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    /**
+     * Find a set of users, cache hits are served per id and the misses loaded with one IN query
+     */
+    public Map<UUID, UserSummary> findAllById(Collection<UUID> userIds) {
+        Map<UUID, UserSummary> users = new HashMap<>();
+        Set<UUID> misses = new HashSet<>();
+        Cache cache = cacheManager.getCache(USERS);
+
+        for (UUID userId : userIds) {
+            UserSummary cached = cache != null ? cache.get(userId.toString(), UserSummary.class) : null;
+            if (cached != null) {
+                users.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (UserSummary user : PrimaryReads.call(() -> userRepository.findSummariesByIdIn(misses))) {
+                put(user);
+                users.put(user.getId(), user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Display names for a set of users, users that do not exist are left out
+     */
+    public Map<UUID, String> findNames(Collection<UUID> userIds) {
+        Map<UUID, String> names = new HashMap<>();
+        findAllById(userIds).forEach((userId, user) -> names.put(userId, user.getName()));
+        return names;
+    }
+
+    /**
+     * Evict the user from both indexes once the transaction that changed it commits
+     */
+    public void userChanged(UUID userId, String email) {
+        AfterCommit.run(() -> {
+            Cache users = cacheManager.getCache(USERS);
+            if (users != null) {
+                users.evict(userId.toString());
+            }
+            Cache userEmails = cacheManager.getCache(USER_EMAILS);
+            if (userEmails != null && email != null) {
+                userEmails.evict(email);
+            }
+        });
+    }
+
+    private void put(UserSummary user) {
+        Cache users = cacheManager.getCache(USERS);
+        if (users != null) {
+            users.putIfAbsent(user.getId().toString(), user);
+        }
+        Cache userEmails = cacheManager.getCache(USER_EMAILS);
+        if (userEmails != null) {
+            userEmails.putIfAbsent(user.getEmail(), user);
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.eventmanagement.config;
 
+import com.eventmanagement.cache.BinaryCacheValueSerializer;
+import com.eventmanagement.cache.CacheCodecProperties;
+import com.eventmanagement.cache.CacheInvalidationListener;
+import com.eventmanagement.cache.CacheInvalidationPublisher;
+import com.eventmanagement.cache.CachedResponseSerializer;
+import com.eventmanagement.cache.LocalCacheProperties;
+import com.eventmanagement.cache.ResponseBytesCache;
+import com.eventmanagement.cache.TwoLevelCacheManager;
+import com.eventmanagement.cache.UpcomingEventIndex;
+import com.eventmanagement.security.TokenRevocationChecker;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,8 +27,12 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -23,6 +40,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties({LocalCacheProperties.class, CacheCodecProperties.class})
 public class CacheConfig {
 
     @Configuration
@@ -32,42 +50,96 @@ public class CacheConfig {
     static class ProductionCacheConfig {
 
         @Bean
-        public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-            // Create ObjectMapper with proper type information
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate,
+                                                                     LocalCacheProperties localCacheProperties) {
+            return new CacheInvalidationPublisher(redisTemplate, localCacheProperties.getInvalidationTopic());
+        }
 
-            objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-            );
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                                 TwoLevelCacheManager cacheManager,
+                                                                                 CacheInvalidationPublisher publisher,
+                                                                                 UpcomingEventIndex upcomingEventIndex,
+                                                                                 TokenRevocationChecker tokenRevocationChecker,
+                                                                                 EntityManagerFactory entityManagerFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(
+                    new CacheInvalidationListener(cacheManager, entityManagerFactory.getCache(), publisher.getNodeId()),
+                    new ChannelTopic(publisher.getTopic()));
+            container.addMessageListener(upcomingEventIndex, new ChannelTopic(upcomingEventIndex.getTopic()));
+            container.addMessageListener(tokenRevocationChecker, new ChannelTopic(tokenRevocationChecker.getTopic()));
+            return container;
+        }
 
-            GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        @Bean
+        public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                                 LocalCacheProperties localCacheProperties,
+                                                 CacheCodecProperties codecProperties,
+                                                 CacheInvalidationPublisher publisher) {
+            RedisSerializer<Object> jsonSerializer = jsonValueSerializer();
+            RedisSerializer<Object> binarySerializer = new BinaryCacheValueSerializer(jsonSerializer);
 
             RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                     .entryTtl(Duration.ofMinutes(10))
                     .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
                     .disableCachingNullValues(); // Don't cache null values
 
             Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
             cacheConfigurations.put("events", defaultConfig.entryTtl(Duration.ofMinutes(5)));
             cacheConfigurations.put("upcomingEvents", defaultConfig.entryTtl(Duration.ofMinutes(2)));
             cacheConfigurations.put("userEvents", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-            cacheConfigurations.put("attendeeCounts", defaultConfig.entryTtl(Duration.ofMinutes(5)));
+            cacheConfigurations.put("attendanceStatus", defaultConfig.entryTtl(Duration.ofMinutes(5)));
+            cacheConfigurations.put("users", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+            cacheConfigurations.put("userEmails", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+            cacheConfigurations.put("eventTotals", defaultConfig.entryTtl(Duration.ofMinutes(1)));
+
+            // Value codec per cache, see app.cache.codecs.*
+            cacheConfigurations.replaceAll((cacheName, config) -> switch (codecProperties.codecFor(cacheName)) {
+                case BINARY -> config.serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(binarySerializer));
+                case JSON -> config;
+            });
 
-            return RedisCacheManager.builder(connectionFactory)
+            // Rendered response bodies, stored as they are, see ResponseBytesCache
+            RedisCacheConfiguration responseBytesConfig = defaultConfig.serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(new CachedResponseSerializer()));
+            cacheConfigurations.put(ResponseBytesCache.EVENT_BYTES, responseBytesConfig.entryTtl(Duration.ofMinutes(5)));
+            cacheConfigurations.put(ResponseBytesCache.UPCOMING_EVENT_BYTES, responseBytesConfig.entryTtl(Duration.ofMinutes(2)));
+
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                     .cacheDefaults(defaultConfig)
                     .withInitialCacheConfigurations(cacheConfigurations)
                     .build();
+            redisCacheManager.initializeCaches();
+
+            // In-process tier in front of Redis, see app.cache.local.*
+            return new TwoLevelCacheManager(redisCacheManager, localCacheProperties, publisher);
         }
     }
 
+    /**
+     * JSON value serializer with type information, the default codec for Redis caches
+     */
+    public static RedisSerializer<Object> jsonValueSerializer() {
+        // Create ObjectMapper with proper type information
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        objectMapper.activateDefaultTyping(
+            LaissezFaireSubTypeValidator.instance,
+            ObjectMapper.DefaultTyping.NON_FINAL,
+            JsonTypeInfo.As.PROPERTY
+        );
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
     // Test Cache Manager (for test profile)
     @Configuration
-    @Profile("test")
+    @Profile("test & !test-caching")
     static class TestCacheConfig {
 
         @Bean
@@ -75,4 +147,16 @@ public class CacheConfig {
             return new NoOpCacheManager();
         }
     }
+
+    // In-memory caches for tests that check invalidation (test-caching profile), without Redis
+    @Configuration
+    @EnableCaching
+    @Profile("test-caching")
+    static class CachingTestCacheConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.transaction.AfterCommit;
+import com.eventmanagement.transaction.PrimaryReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas, round robin, and everything else to the primary.
+ * Needs to sit behind a lazy connection proxy, so the read-only flag of the transaction is known
+ * when the connection is fetched.
+ * <p>
+ * Replicas lagging more than the allowed lag, or not answering, are skipped until the next check.
+ * A caller whose write committed less than the read-your-writes window ago reads from the primary,
+ * so an RSVP is never followed by a stale read of the same user on this node.
+ * <p>
+ * Reads that fill shared caches run inside {@link PrimaryReads} and go to the primary as well.
+ * Every other replica read is reported to the replica read callback, which keeps it out of the
+ * Hibernate second-level cache.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    // Postgres standby lag, zero when everything received has been replayed
+    private static final String POSTGRES_LAG = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final Supplier<String> currentWriter;
+    private final Duration maxLag;
+    private final Duration readYourWritesWindow;
+    private final Runnable onReplicaRead;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private volatile List<String> available;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                        Supplier<String> currentWriter, Duration maxLag, Duration readYourWritesWindow,
+                                        Runnable onReplicaRead) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.currentWriter = currentWriter;
+        this.maxLag = maxLag;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.onReplicaRead = onReplicaRead;
+        this.available = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+
+        if (PrimaryReads.isActive()) {
+            return PRIMARY;
+        }
+
+        String writer = currentWriter.get();
+        if (writer != null && wroteRecently(writer)) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        onReplicaRead.run();
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measure the lag of every replica and keep the ones within the allowed lag in rotation
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((key, dataSource) -> {
+            try {
+                Double lagSeconds = lagSeconds(dataSource);
+                if (lagSeconds == null || lagSeconds * 1000 <= maxLag.toMillis()) {
+                    healthy.add(key);
+                } else {
+                    log.warn("Replica {} is {}s behind, reads go elsewhere until it catches up", key, lagSeconds);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Replica {} is unavailable: {}", key, e.getMessage());
+            }
+        });
+        available = List.copyOf(healthy);
+
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now < 0);
+    }
+
+    public List<String> getAvailableReplicas() {
+        return available;
+    }
+
+    // Null when the database does not report a lag, the replica only has to answer
+    private Double lagSeconds(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product != null && product.toLowerCase().contains("postgres")) {
+            return jdbcTemplate.queryForObject(POSTGRES_LAG, Double.class);
+        }
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        return null;
+    }
+
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String writer = currentWriter.get();
+        if (writer == null) {
+            return;
+        }
+        AfterCommit.run(() -> recentWriters.put(writer, System.nanoTime() + readYourWritesWindow.toNanos()));
+    }
+
+    private boolean wroteRecently(String writer) {
+        Long until = recentWriters.get(writer);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() < 0) {
+            recentWriters.remove(writer, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.eventmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas serving read-only transactions, credentials default to the primary's
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private int maximumPoolSize = 20;
+    // Replicas further behind than this are taken out of rotation until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+    // Reads of a user that just committed a write go to the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
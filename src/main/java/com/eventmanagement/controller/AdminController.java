@@ -0,0 +1,46 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.admin.CacheStatisticsResponse;
+import com.eventmanagement.dto.admin.UpdateRoleRequest;
+import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.service.AuthService;
+import com.eventmanagement.service.CacheStatisticsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final AuthService authService;
+
+    /**
+     * Hibernate second-level and query cache hit ratios of the node serving the request
+     * GET /api/v1/admin/cache-statistics
+     */
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<CacheStatisticsResponse> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+
+    /**
+     * Change the role of a user, the tokens issued with the old role are revoked
+     * PUT /api/v1/admin/users/{userId}/role
+     */
+    @PutMapping("/users/{userId}/role")
+    public ResponseEntity<AuthResponse.UserInfo> changeRole(@PathVariable UUID userId,
+                                                            @Valid @RequestBody UpdateRoleRequest request) {
+        return ResponseEntity.ok(authService.changeRole(userId, request.getRole()));
+    }
+}
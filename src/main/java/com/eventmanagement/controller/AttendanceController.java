@@ -1,6 +1,8 @@
 package com.eventmanagement.controller;
 
 import com.eventmanagement.dto.attendance.AttendanceResponse;
+import com.eventmanagement.dto.attendance.BulkAttendanceRequest;
+import com.eventmanagement.dto.attendance.BulkAttendanceResponse;
 import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
 import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
 import com.eventmanagement.service.AttendanceService;
@@ -20,24 +22,34 @@ public class AttendanceController {
     private final AttendanceService attendanceService;
 
     /**
-     * Respond to an event
+     * Respond to an event, 202 when the response was queued by the write-behind mode
      * POST /api/v1/attendance
      */
     @PostMapping
     public ResponseEntity<AttendanceResponse> respondToAnEvent(@Valid @RequestBody CreateAttendanceRequest request) {
         AttendanceResponse response = attendanceService.respondToAnEvent(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(response.isQueued() ? HttpStatus.ACCEPTED : HttpStatus.CREATED).body(response);
     }
 
     /**
-     * Update attendance for an event
+     * Respond to up to 100 events at once, each item is created or updated and reported separately
+     * POST /api/v1/attendance/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkAttendanceResponse> respondToEvents(@Valid @RequestBody BulkAttendanceRequest request) {
+        BulkAttendanceResponse response = attendanceService.respondToEvents(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Update attendance for an event, 202 when the response was queued by the write-behind mode
      * PUT /api/v1/attendance/events/{eventId}
      */
     @PutMapping("/events/{eventId}")
     public ResponseEntity<AttendanceResponse> updateAttendance(@PathVariable UUID eventId,
                                                                @Valid @RequestBody UpdateAttendanceRequest request) {
         AttendanceResponse response = attendanceService.updateTheAttendance(eventId, request);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(response.isQueued() ? HttpStatus.ACCEPTED : HttpStatus.OK).body(response);
     }
 
     /**
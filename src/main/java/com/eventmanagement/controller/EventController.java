@@ -1,22 +1,35 @@
 package com.eventmanagement.controller;
 
+import com.eventmanagement.cache.CachedResponse;
+import com.eventmanagement.cache.ResponseBytesCache;
 import com.eventmanagement.dto.event.CreateEventRequest;
+import com.eventmanagement.dto.event.EventImportResponse;
 import com.eventmanagement.dto.event.EventResponse;
 import com.eventmanagement.dto.event.UpdateEventRequest;
+import com.eventmanagement.dto.page.CursorPage;
+import com.eventmanagement.dto.page.SliceResponse;
+import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.service.EventImportService;
 import com.eventmanagement.service.EventService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,7 +37,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class EventController {
 
+    // Search is ranked by relevance, the slice, cursor and stream listings are ordered by start time
+    private static final String SEARCH_NOT_SUPPORTED = "q is only supported on the paged event listing";
+
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final ResponseBytesCache responseBytesCache;
 
     /**
      * Create an event (only by authenticated users)
@@ -33,18 +51,39 @@ public class EventController {
     @PostMapping
     public ResponseEntity<EventResponse> createEvent(@Valid @RequestBody CreateEventRequest request) {
         EventResponse response = eventService.createAnEvent(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EventETags.of(response)).body(response);
+    }
+
+    /**
+     * Import events hosted by the current user, one JSON object per line
+     * POST /api/v1/events/import (Content-Type: application/x-ndjson)
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<EventImportResponse> importEventsFromNdjson(InputStream body) {
+        EventImportResponse response = eventImportService.importEvents(body, EventImportService.Format.NDJSON);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import events hosted by the current user from CSV with a header row
+     * POST /api/v1/events/import (Content-Type: text/csv)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<EventImportResponse> importEventsFromCsv(InputStream body) {
+        EventImportResponse response = eventImportService.importEvents(body, EventImportService.Format.CSV);
+        return ResponseEntity.ok(response);
     }
 
     /**
-     * Update an event (only by host or admin)
+     * Update an event (only by host or admin), 412 when If-Match holds the ETag of an older version
      * PUT /api/v1/events/{eventId}
      */
     @PutMapping("/{eventId}")
     public ResponseEntity<EventResponse> updateEvent(@PathVariable UUID eventId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                      @Valid @RequestBody UpdateEventRequest request) {
-        EventResponse response = eventService.updateAnEvent(eventId, request);
-        return ResponseEntity.ok(response);
+        EventResponse response = eventService.updateAnEvent(eventId, request, EventETags.versionOf(ifMatch));
+        return conditional(response, EventETags.of(response));
     }
 
     /**
@@ -58,41 +97,136 @@ public class EventController {
     }
 
     /**
-     * Status check of an event
+     * Status check of an event, 304 without a body when If-None-Match holds the current ETag,
+     * the rendered body is cached, see {@link ResponseBytesCache}
      * GET /api/v1/events/{eventId}
      */
     @GetMapping("/{eventId}")
-    public ResponseEntity<EventResponse> getEvent(@PathVariable UUID eventId) {
-        EventResponse response = eventService.getAnEvent(eventId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getEvent(@PathVariable UUID eventId,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = responseBytesCache.event(eventId, () -> eventService.getAnEvent(eventId), EventETags::of);
+        return conditional(response, acceptEncoding);
     }
 
     /**
-     * List upcoming events (paginated)
+     * List upcoming events (paginated), the rendered first pages are cached
      * GET /api/v1/events/upcoming
      */
     @GetMapping("/upcoming")
-    public ResponseEntity<Page<EventResponse>> getUpcomingEvents(
+    public ResponseEntity<byte[]> getUpcomingEvents(
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = responseBytesCache.upcomingPage(pageable,
+                () -> eventService.getUpcomingEvents(pageable), EventETags::of);
+        return conditional(response, acceptEncoding);
+    }
+
+    /**
+     * List upcoming events without a total count, approximate total on request
+     * GET /api/v1/events/upcoming?slice=true&includeTotal=false
+     */
+    @GetMapping(value = "/upcoming", params = "slice=true")
+    public ResponseEntity<SliceResponse<EventResponse>> getUpcomingEventsSlice(
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<EventResponse> response = eventService.getUpcomingEvents(pageable);
-        return ResponseEntity.ok(response);
+        SliceResponse<EventResponse> response = eventService.getUpcomingEvents(pageable, includeTotal);
+        return conditional(response, EventETags.of(response));
     }
 
     /**
-     * List events with filtering by date, location, visibility
-     * GET /api/v1/events?visibility=PUBLIC&location=Colombo&startDate=2025-07-06T00:00:00
+     * List upcoming events with a keyset cursor, start with an empty cursor
+     * GET /api/v1/events/upcoming?cursor=&size=20
+     */
+    @GetMapping(value = "/upcoming", params = "cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getUpcomingEventsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<EventResponse> response = eventService.getUpcomingEvents(cursor, size);
+        return conditional(response, EventETags.of(response));
+    }
+
+    /**
+     * List events with filtering by date, location, visibility, q searches title, description
+     * and location and orders by relevance
+     * GET /api/v1/events?q=jazz&visibility=PUBLIC&location=Colombo&startDate=2025-07-06T00:00:00
      */
     @GetMapping
     public ResponseEntity<Page<EventResponse>> getEvents(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) Visibility visibility,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @PageableDefault(size = 20) Pageable pageable) {
 
-        Page<EventResponse> response = eventService.getEventsWithFilter(
-                visibility, location, startDate, endDate, pageable);
-        return ResponseEntity.ok(response);
+        Page<EventResponse> response = StringUtils.hasText(q)
+                ? eventService.searchEvents(q, visibility, location, startDate, endDate, pageable)
+                : eventService.getEventsWithFilter(visibility, location, startDate, endDate, pageable);
+        return conditional(response, EventETags.of(response));
+    }
+
+    /**
+     * Stream every event matching the filters as NDJSON, one event per line in start time order.
+     * Search is only ranked on the paged listing, a q is rejected
+     * GET /api/v1/events?visibility=PUBLIC (Accept: application/x-ndjson)
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamEvents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Visibility visibility,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            HttpServletResponse response) throws IOException {
+
+        if (StringUtils.hasText(q)) {
+            // No JSON error body, the client only accepts NDJSON
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, SEARCH_NOT_SUPPORTED);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        eventService.streamEventsWithFilter(visibility, location, startDate, endDate, response.getOutputStream());
+    }
+
+    /**
+     * List events with filtering, without a total count, approximate total on request. A q is rejected
+     * GET /api/v1/events?visibility=PUBLIC&slice=true&includeTotal=false
+     */
+    @GetMapping(params = "slice=true")
+    public ResponseEntity<SliceResponse<EventResponse>> getEventsSlice(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Visibility visibility,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        rejectSearch(q);
+        SliceResponse<EventResponse> response = eventService.getEventsWithFilter(
+                visibility, location, startDate, endDate, pageable, includeTotal);
+        return conditional(response, EventETags.of(response));
+    }
+
+    /**
+     * List events with filtering and a keyset cursor, ordered by start time. A q is rejected
+     * GET /api/v1/events?visibility=PUBLIC&cursor=&size=20
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getEventsByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Visibility visibility,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        rejectSearch(q);
+        CursorPage<EventResponse> response = eventService.getEventsWithFilter(
+                visibility, location, startDate, endDate, cursor, size);
+        return conditional(response, EventETags.of(response));
     }
 
     /**
@@ -103,16 +237,84 @@ public class EventController {
     public ResponseEntity<Page<EventResponse>> getEventsHostedByUser(
             @PageableDefault(size = 20) Pageable pageable) {
         Page<EventResponse> response = eventService.getEventsHostedByUser(pageable);
-        return ResponseEntity.ok(response);
+        return conditional(response, EventETags.of(response));
     }
 
     /**
-     * Get event details with attendee count
-     * GET /api/v1/events/attending
+     * Stream every event hosted by the user as NDJSON, one event per line in start time order
+     * GET /api/v1/events/hosting (Accept: application/x-ndjson)
+     */
+    @GetMapping(value = "/hosting", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamEventsHostedByUser(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        eventService.streamEventsHostedByUser(response.getOutputStream());
+    }
+
+    /**
+     * List events hosted by the user without a total count, approximate total on request
+     * GET /api/v1/events/hosting?slice=true&includeTotal=false
+     */
+    @GetMapping(value = "/hosting", params = "slice=true")
+    public ResponseEntity<SliceResponse<EventResponse>> getEventsHostedByUserSlice(
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @PageableDefault(size = 20) Pageable pageable) {
+        SliceResponse<EventResponse> response = eventService.getEventsHostedByUser(pageable, includeTotal);
+        return conditional(response, EventETags.of(response));
+    }
+
+    /**
+     * List events the user is attending (paginated, ordered by start time)
+     * GET /api/v1/events/attending?status=GOING&upcoming=true
      */
     @GetMapping("/attending")
-    public ResponseEntity<List<EventResponse>> getEventsUserIsAttending() {
-        List<EventResponse> response = eventService.getEventsUserIsAttending();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Page<EventResponse>> getEventsUserIsAttending(
+            @RequestParam(required = false) AttendanceStatus status,
+            @RequestParam(defaultValue = "false") boolean upcoming,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<EventResponse> response = eventService.getEventsUserIsAttending(status, upcoming, pageable);
+        return conditional(response, EventETags.of(response));
+    }
+
+    // Revalidated on every use, so an unchanged event or page costs a 304 instead of a body
+    private static <T> ResponseEntity<T> conditional(T body, String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    // A rendered body written as it is, gzip'd when the client accepts it and a gzip encoding was kept
+    private static ResponseEntity<byte[]> conditional(CachedResponse response, String acceptEncoding) {
+        boolean gzip = response.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(gzip ? response.gzipETag() : response.eTag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? response.gzip() : response.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Search is only served by the paged listing, the other modes would silently drop the filter
+    private static void rejectSearch(String q) {
+        if (StringUtils.hasText(q)) {
+            throw new RuntimeException(SEARCH_NOT_SUPPORTED);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.dto.page.CursorPage;
+import com.eventmanagement.dto.page.SliceResponse;
+import com.eventmanagement.exception.PreconditionFailedException;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Strong ETags of event responses, computed from the response fields so a 304 skips serialization.
+ * An event tag is {@code "version-digest"}: the version covers every field of the event itself,
+ * the digest the attendee counts and host name, which change without a new version. List tags
+ * digest the tags of their events and the page position.
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static String of(EventResponse event) {
+        String counts = String.join("|", event.getId(), String.valueOf(event.getHostName()),
+                Long.toString(event.getGoingCount()), Long.toString(event.getMaybeCount()),
+                Long.toString(event.getDeclinedCount()));
+        return "\"" + event.getVersion() + "-" + digest(counts) + "\"";
+    }
+
+    static String of(Page<EventResponse> page) {
+        return of(page.getContent(), page.getNumber() + "|" + page.getSize() + "|" + page.getTotalElements());
+    }
+
+    static String of(SliceResponse<EventResponse> slice) {
+        return of(slice.getContent(), slice.getPage() + "|" + slice.getSize() + "|" + slice.isHasNext()
+                + "|" + slice.getTotalElements());
+    }
+
+    static String of(CursorPage<EventResponse> page) {
+        return of(page.getContent(), page.getSize() + "|" + page.isHasNext() + "|" + page.getNextCursor());
+    }
+
+    /**
+     * Event version an If-Match header was built from, null when absent or {@code *}. Only the
+     * version is compared, responses of attendees do not fail an edit of the event. Weak or
+     * foreign tags can never match an event, so they fail the precondition.
+     */
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        int separator = tag.indexOf('-');
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || separator < 0) {
+            throw new PreconditionFailedException("If-Match does not match the current event");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, separator));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current event");
+        }
+    }
+
+    private static String of(List<EventResponse> events, String position) {
+        StringBuilder tags = new StringBuilder(position);
+        for (EventResponse event : events) {
+            tags.append('|').append(of(event));
+        }
+        return "\"" + digest(tags.toString()) + "\"";
+    }
+
+    private static String digest(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.dto.auth.ChangePasswordRequest;
+import com.eventmanagement.service.AuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final AuthService authService;
+
+    /**
+     * Change the password of the current user, every other token of the user is revoked
+     * PUT /api/v1/users/me/password
+     */
+    @PutMapping("/me/password")
+    public ResponseEntity<AuthResponse> changePassword(@Valid @RequestBody ChangePasswordRequest request) {
+        return ResponseEntity.ok(authService.changePassword(request));
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventmanagement.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level and query cache statistics of this node
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsResponse {
+
+    private boolean statisticsEnabled;
+    private RegionCacheStatistics secondLevelCache;
+    private RegionCacheStatistics queryCache;
+    private List<RegionCacheStatistics> regions;
+}
@@ -0,0 +1,20 @@
+package com.eventmanagement.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hits and misses of a cache region since startup, hitRatio is null before the first lookup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegionCacheStatistics {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private Double hitRatio;
+}
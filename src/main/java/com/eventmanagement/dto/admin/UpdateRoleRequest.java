@@ -0,0 +1,14 @@
+package com.eventmanagement.dto.admin;
+
+import com.eventmanagement.entity.Role;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class UpdateRoleRequest {
+
+    @NotNull(message = "Role is required")
+    private Role role;
+}
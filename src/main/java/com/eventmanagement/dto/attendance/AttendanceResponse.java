@@ -1,6 +1,7 @@
 package com.eventmanagement.dto.attendance;
 
 import com.eventmanagement.entity.AttendanceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,4 +20,8 @@ public class AttendanceResponse {
     private String userName;
     private AttendanceStatus status;
     private LocalDateTime respondedAt;
+
+    //Accepted into the write-behind log, not written to the database yet
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean queued;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.eventmanagement.dto.attendance;
+
+public enum BulkAttendanceOutcome {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    FAILED
+}
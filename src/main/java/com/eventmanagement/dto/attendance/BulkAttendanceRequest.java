@@ -0,0 +1,19 @@
+package com.eventmanagement.dto.attendance;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkAttendanceRequest {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid @NotNull CreateAttendanceRequest> responses;
+}
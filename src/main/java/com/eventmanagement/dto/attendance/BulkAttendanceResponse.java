@@ -0,0 +1,20 @@
+package com.eventmanagement.dto.attendance;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per item results of a bulk response, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceResponse {
+
+    private List<BulkAttendanceResult> results;
+    private int succeeded;
+    private int failed;
+}
@@ -0,0 +1,21 @@
+package com.eventmanagement.dto.attendance;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a bulk response, attendance on success and error on failure
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAttendanceResult {
+
+    private String eventId;
+    private BulkAttendanceOutcome outcome;
+    private AttendanceResponse attendance;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.eventmanagement.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ChangePasswordRequest {
+
+    @NotBlank
+    private String currentPassword;
+
+    @NotBlank
+    @Size(min = 6, message = "Password must atleast 6 characters long")
+    private String newPassword;
+}
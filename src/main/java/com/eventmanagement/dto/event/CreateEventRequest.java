@@ -4,6 +4,7 @@ import com.eventmanagement.entity.Visibility;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,4 +34,7 @@ public class CreateEventRequest {
     private String location;
 
     private Visibility visibility = Visibility.PUBLIC;
+
+    @Positive(message = "Capacity should be at least 1")
+    private Integer capacity;
 }
\ No newline at end of file
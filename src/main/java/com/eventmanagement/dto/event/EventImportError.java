@@ -0,0 +1,14 @@
+package com.eventmanagement.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportError {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.eventmanagement.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of an event import, errors lists the first rejected rows only
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportResponse {
+
+    private long imported;
+    private long failed;
+    private List<EventImportError> errors;
+}
@@ -21,7 +21,12 @@ public class EventResponse {
     private LocalDateTime endTime;
     private String location;
     private Visibility visibility;
+    private Integer capacity;
     private long attendeeCount;
+    private long goingCount;
+    private long maybeCount;
+    private long declinedCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.eventmanagement.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStartTime {
+
+    private UUID id;
+    private LocalDateTime startTime;
+}
@@ -1,6 +1,7 @@
 package com.eventmanagement.dto.event;
 
 import com.eventmanagement.entity.Visibility;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,4 +26,7 @@ public class UpdateEventRequest {
     private String location;
 
     private Visibility visibility;
+
+    @Positive(message = "Capacity should be at least 1")
+    private Integer capacity;
 }
\ No newline at end of file
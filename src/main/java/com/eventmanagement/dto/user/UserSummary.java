@@ -0,0 +1,19 @@
+package com.eventmanagement.dto.user;
+
+import com.eventmanagement.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private UUID id;
+    private String name;
+    private String email;
+    private Role role;
+}
@@ -4,14 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
 @Table(name = "events")
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -45,6 +50,9 @@ public class Event {
     @Column(nullable = false)
     private Visibility visibility = Visibility.PUBLIC;
 
+    @Column(name = "capacity")
+    private Integer capacity;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -53,6 +61,11 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, an update of a stale copy fails instead of overwriting a newer change
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
    //Constructor
     public Event(String title, String description, UUID hostId,
                  LocalDateTime startTime, LocalDateTime endTime,
@@ -66,6 +79,18 @@ public class Event {
         this.visibility = visibility;
     }
 
+    // Keep times at the database precision, so keyset cursors built from a saved entity match the stored row
+    @PrePersist
+    @PreUpdate
+    void truncateTimes() {
+        if (startTime != null) {
+            startTime = startTime.truncatedTo(ChronoUnit.MICROS);
+        }
+        if (endTime != null) {
+            endTime = endTime.truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
     // Utility methods
     public boolean isUpcoming() {
         return startTime.isAfter(LocalDateTime.now());
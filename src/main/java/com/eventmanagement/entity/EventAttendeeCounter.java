@@ -0,0 +1,57 @@
+package com.eventmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "event_attendee_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventAttendeeCounter {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "going_count", nullable = false)
+    private long goingCount;
+
+    @Column(name = "maybe_count", nullable = false)
+    private long maybeCount;
+
+    @Column(name = "declined_count", nullable = false)
+    private long declinedCount;
+
+    //Seat limit of the event, GOING responses are only counted while going_count stays within it
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    //Constructor
+    public EventAttendeeCounter(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    //utility methods to work with per status counts
+    public long getAttendeeCount() {
+        return goingCount + maybeCount;
+    }
+
+    public void increment(AttendanceStatus status, long delta) {
+        switch (status) {
+            case GOING -> goingCount += delta;
+            case MAYBE -> maybeCount += delta;
+            case DECLINED -> declinedCount += delta;
+        }
+    }
+
+    public boolean hasSameCounts(EventAttendeeCounter other) {
+        return goingCount == other.goingCount
+                && maybeCount == other.maybeCount
+                && declinedCount == other.declinedCount;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventmanagement.exception;
+
+/**
+ * A request that conflicts with the current state of a resource, answered with 409
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventmanagement.exception;
+
+/**
+ * A conditional request whose precondition does not hold for the current state, answered with 412
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
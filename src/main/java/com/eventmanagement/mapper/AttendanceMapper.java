@@ -21,5 +21,6 @@ public interface AttendanceMapper {
     @Mapping(target = "respondedAt", source = "attendance.respondedAt")
     @Mapping(target = "eventTitle", source = "eventTitle")
     @Mapping(target = "userName", source = "userName")
+    @Mapping(target = "queued", ignore = true)
     AttendanceResponse toResponse(Attendance attendance, String eventTitle, String userName);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.eventmanagement.dto.event.CreateEventRequest;
 import com.eventmanagement.dto.event.EventResponse;
 import com.eventmanagement.dto.event.UpdateEventRequest;
 import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,17 +17,23 @@ public interface EventMapper {
     @Mapping(target = "hostId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Event toEntity(CreateEventRequest request);
 
     @Mapping(target = "id", source = "event.id")
     @Mapping(target = "hostId", source = "event.hostId")
     @Mapping(target = "hostName", source = "hostName")
-    @Mapping(target = "attendeeCount", source = "attendeeCount")
-    EventResponse toResponse(Event event, String hostName, long attendeeCount);
+    @Mapping(target = "capacity", source = "event.capacity")
+    @Mapping(target = "attendeeCount", source = "counter.attendeeCount")
+    @Mapping(target = "goingCount", source = "counter.goingCount")
+    @Mapping(target = "maybeCount", source = "counter.maybeCount")
+    @Mapping(target = "declinedCount", source = "counter.declinedCount")
+    EventResponse toResponse(Event event, String hostName, EventAttendeeCounter counter);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "hostId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromRequest(UpdateEventRequest request, @MappingTarget Event event);
 }
\ No newline at end of file
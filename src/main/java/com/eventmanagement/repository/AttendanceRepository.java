@@ -1,28 +1,55 @@
 package com.eventmanagement.repository;
 
 import com.eventmanagement.entity.Attendance;
+import com.eventmanagement.entity.AttendanceStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
+public interface AttendanceRepository extends JpaRepository<Attendance, UUID>, AttendanceWriteRepository {
 
     //Find attendance by event and user IDs
     Optional<Attendance> findByEventIdAndUserId(UUID eventId, UUID userId);
 
+    //Find the user's attendances for a batch of events
+    List<Attendance> findByUserIdAndEventIdIn(UUID userId, Collection<UUID> eventIds);
+
+    //Lock the user's response, so concurrent updates apply their counter deltas one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.eventId = :eventId AND a.userId = :userId")
+    Optional<Attendance> findForUpdate(@Param("eventId") UUID eventId, @Param("userId") UUID userId);
+
+    //Lock the user's responses for a batch of events, in event order so concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.userId = :userId AND a.eventId IN :eventIds ORDER BY a.eventId")
+    List<Attendance> findForUpdateByUserIdAndEventIdIn(@Param("userId") UUID userId,
+                                                       @Param("eventIds") Collection<UUID> eventIds);
+
+    //Find the attendances of any of the users for any of the events, used to write queued responses in batches
+    List<Attendance> findByEventIdInAndUserIdIn(Collection<UUID> eventIds, Collection<UUID> userIds);
+
     //Check if attendance exists
     boolean existsByEventIdAndUserId(UUID eventId, UUID userId);
 
-    //List event user attending
-    @Query("SELECT a.eventId FROM Attendance a WHERE a.userId = :userId")
-    List<UUID> findEventIdsByUserId(@Param("userId") UUID userId);
+    //Count responses per status for a batch of events in one grouped query
+    @Query("SELECT a.eventId AS eventId, a.status AS status, COUNT(a) AS responseCount FROM Attendance a " +
+            "WHERE a.eventId IN :eventIds GROUP BY a.eventId, a.status")
+    List<EventStatusCount> countByEventIdsGroupedByStatus(@Param("eventIds") Collection<UUID> eventIds);
+
+    interface EventStatusCount {
+        UUID getEventId();
+
+        AttendanceStatus getStatus();
 
-    //Count attendees for event
-    long countByEventId(UUID eventId);
+        long getResponseCount();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.Attendance;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+//Race-free RSVP writes, one statement that checks the event and the unique (event, user) pair
+public interface AttendanceWriteRepository {
+
+    //Insert the attendance when its event exists and the user has not responded yet, empty when the event does not exist.
+    //A user that already responded gets the event with created false, the stored response is left as it was
+    Optional<RespondedEvent> insertIfAbsent(Attendance attendance);
+
+    //Event the attendance was stored for, and whether this call created the response
+    record RespondedEvent(String title, LocalDateTime startTime, boolean created) {
+    }
+}
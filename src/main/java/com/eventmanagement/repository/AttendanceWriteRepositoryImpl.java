@@ -0,0 +1,108 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.Attendance;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.NativeQuery;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inserts an attendance in a single round trip. On Postgres the insert selects from the event and
+ * a duplicate hits ON CONFLICT DO UPDATE with an unchanged status, so the existing row is locked
+ * and returned instead of failing. The CTE returns the event with {@code xmax = 0}, which only
+ * holds for a freshly inserted row, so one statement tells a new response, a duplicate and a
+ * missing event apart. Other databases (H2 in tests) use a NOT EXISTS guard, fall back to the
+ * unique constraint when two requests race and look the event up afterwards.
+ */
+public class AttendanceWriteRepositoryImpl implements AttendanceWriteRepository {
+
+    private static final String POSTGRES_UPSERT =
+            "WITH upserted AS (" +
+                    "INSERT INTO attendances (id, event_id, user_id, status, responded_at) " +
+                    "SELECT :id, e.id, :userId, :status, :respondedAt FROM events e WHERE e.id = :eventId " +
+                    "ON CONFLICT (event_id, user_id) DO UPDATE SET status = attendances.status " +
+                    "RETURNING event_id, xmax = 0 AS created) " +
+                    "SELECT e.title, e.start_time, upserted.created FROM upserted JOIN events e ON e.id = upserted.event_id";
+
+    private static final String GUARDED_INSERT =
+            "INSERT INTO attendances (id, event_id, user_id, status, responded_at) " +
+                    "SELECT :id, e.id, :userId, :status, :respondedAt FROM events e WHERE e.id = :eventId " +
+                    "AND NOT EXISTS (SELECT 1 FROM attendances a WHERE a.event_id = :eventId AND a.user_id = :userId)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public AttendanceWriteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<RespondedEvent> insertIfAbsent(Attendance attendance) {
+        if (isPostgres()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = bind(entityManager.createNativeQuery(POSTGRES_UPSERT), attendance).getResultList();
+            return rows.stream().findFirst().map(row -> toRespondedEvent(row, (Boolean) row[2]));
+        }
+
+        boolean created = guardedInsert(attendance);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT e.title, e.start_time FROM events e WHERE e.id = :eventId")
+                .setParameter("eventId", attendance.getEventId())
+                .getResultList();
+        return rows.stream().findFirst().map(row -> toRespondedEvent(row, created));
+    }
+
+    private boolean guardedInsert(Attendance attendance) {
+        try {
+            return bind(entityManager.createNativeQuery(GUARDED_INSERT), attendance).executeUpdate() > 0;
+        } catch (PersistenceException e) {
+            if (e instanceof ConstraintViolationException || e.getCause() instanceof ConstraintViolationException) {
+                // Lost the race against a concurrent insert of the same response
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private Query bind(Query query, Attendance attendance) {
+        // Only the attendances table is written, so the second-level cache regions of other entities stay valid
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Attendance.class);
+        return query.setParameter("id", attendance.getId())
+                .setParameter("eventId", attendance.getEventId())
+                .setParameter("userId", attendance.getUserId())
+                .setParameter("status", attendance.getStatus().name())
+                .setParameter("respondedAt", attendance.getRespondedAt());
+    }
+
+    private RespondedEvent toRespondedEvent(Object[] row, boolean created) {
+        Object startTime = row[1];
+        LocalDateTime start = startTime instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime()
+                : (LocalDateTime) startTime;
+        return new RespondedEvent((String) row[0], start, created);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return metaData.getDatabaseProductName().toLowerCase().contains("postgres");
+            }));
+        }
+        return postgres;
+    }
+}
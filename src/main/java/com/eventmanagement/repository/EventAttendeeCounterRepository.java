@@ -0,0 +1,41 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.EventAttendeeCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventAttendeeCounterRepository extends JpaRepository<EventAttendeeCounter, UUID> {
+
+    //Atomically shift the per status counts of an event while GOING stays within the capacity,
+    //returns the number of rows updated(0 when the event is full or has no counter row)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventAttendeeCounter c SET " +
+            "c.goingCount = c.goingCount + :going, " +
+            "c.maybeCount = c.maybeCount + :maybe, " +
+            "c.declinedCount = c.declinedCount + :declined " +
+            "WHERE c.eventId = :eventId AND (c.capacity IS NULL OR c.goingCount + :going <= c.capacity)")
+    int applyDelta(@Param("eventId") UUID eventId,
+                   @Param("going") long going,
+                   @Param("maybe") long maybe,
+                   @Param("declined") long declined);
+
+    //Change the seat limit of an event unless more attendees are already going, returns the number of rows updated
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventAttendeeCounter c SET c.capacity = :capacity " +
+            "WHERE c.eventId = :eventId AND (:capacity IS NULL OR c.goingCount <= :capacity)")
+    int updateCapacity(@Param("eventId") UUID eventId, @Param("capacity") Integer capacity);
+
+    //Lock the counter row so a repair cannot interleave with in-flight responses
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM EventAttendeeCounter c WHERE c.eventId = :eventId")
+    Optional<EventAttendeeCounter> findForUpdate(@Param("eventId") UUID eventId);
+}
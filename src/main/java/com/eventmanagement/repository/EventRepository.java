@@ -1,27 +1,83 @@
 package com.eventmanagement.repository;
 
+import com.eventmanagement.dto.event.EventStartTime;
+import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Event;
 import com.eventmanagement.entity.Visibility;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventSearchRepository {
 
     //Find event by host ID
     Page<Event> findByHostId(UUID hostId, Pageable pageable);
 
+    //Find event by host ID without a count query
+    Slice<Event> findSliceByHostId(UUID hostId, Pageable pageable);
+
+    //Count events by host ID
+    long countByHostId(UUID hostId);
+
+    //Stream events by host ID in start time order, read through a cursor in fetch size chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e WHERE e.hostId = :hostId ORDER BY e.startTime ASC, e.id ASC")
+    Stream<Event> streamByHostId(@Param("hostId") UUID hostId);
+
+    //List event IDs in batches, used by background jobs
+    @Query("SELECT e.id FROM Event e")
+    Slice<UUID> findAllIds(Pageable pageable);
+
     //FInd upcoming events(pagination included)
     @Query("SELECT e FROM Event e WHERE e.startTime > :now ORDER BY e.startTime ASC")
     Page<Event> findUpcomingEvents(@Param("now") LocalDateTime now, Pageable pageable);
 
+    //Find upcoming events without a count query
+    @Query("SELECT e FROM Event e WHERE e.startTime > :now ORDER BY e.startTime ASC")
+    Slice<Event> findUpcomingEventsSlice(@Param("now") LocalDateTime now, Pageable pageable);
+
+    //Count upcoming events
+    long countByStartTimeAfter(LocalDateTime now);
+
+    //List ids and start times of upcoming events, loaded into the in-memory upcoming index
+    @Query("SELECT new com.eventmanagement.dto.event.EventStartTime(e.id, e.startTime) " +
+            "FROM Event e WHERE e.startTime > :now")
+    List<EventStartTime> findUpcomingStartTimes(@Param("now") LocalDateTime now);
+
+    //Find upcoming events after a keyset cursor, ordered by (startTime, id) without an OFFSET scan
+    @Query("SELECT e FROM Event e WHERE e.startTime > :now AND " +
+            "(:cursorStart IS NULL OR (e.startTime >= :cursorStart AND " +
+            "(e.startTime > :cursorStart OR e.id > :cursorId))) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findUpcomingEventsAfter(@Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") UUID cursorId,
+                                        Limit limit);
+
+    //Count upcoming events starting before the given time(position of an event in the upcoming listing)
+    long countByStartTimeAfterAndStartTimeBefore(LocalDateTime now, LocalDateTime startTime);
+
+    //Count upcoming events starting at or before the given time
+    long countByStartTimeAfterAndStartTimeLessThanEqual(LocalDateTime now, LocalDateTime startTime);
+
     //Find events by different criteria(pagination included)
     @Query("SELECT e FROM Event e WHERE " +
             "(:visibility IS NULL OR e.visibility = :visibility) AND " +
@@ -33,4 +89,73 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
                                      @Param("startDate") LocalDateTime startDate,
                                      @Param("endDate") LocalDateTime endDate,
                                      Pageable pageable);
+
+    //Find events by different criteria without a count query
+    @Query("SELECT e FROM Event e WHERE " +
+            "(:visibility IS NULL OR e.visibility = :visibility) AND " +
+            "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:startDate IS NULL OR e.startTime >= :startDate) AND " +
+            "(:endDate IS NULL OR e.startTime <= :endDate)")
+    Slice<Event> findEventsByCriteriaSlice(@Param("visibility") Visibility visibility,
+                                           @Param("location") String location,
+                                           @Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate,
+                                           Pageable pageable);
+
+    //Count events by different criteria
+    @Query("SELECT COUNT(e) FROM Event e WHERE " +
+            "(:visibility IS NULL OR e.visibility = :visibility) AND " +
+            "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:startDate IS NULL OR e.startTime >= :startDate) AND " +
+            "(:endDate IS NULL OR e.startTime <= :endDate)")
+    long countEventsByCriteria(@Param("visibility") Visibility visibility,
+                               @Param("location") String location,
+                               @Param("startDate") LocalDateTime startDate,
+                               @Param("endDate") LocalDateTime endDate);
+
+    //Stream events by different criteria in start time order, read through a cursor in fetch size chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e WHERE " +
+            "(:visibility IS NULL OR e.visibility = :visibility) AND " +
+            "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:startDate IS NULL OR e.startTime >= :startDate) AND " +
+            "(:endDate IS NULL OR e.startTime <= :endDate) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    Stream<Event> streamEventsByCriteria(@Param("visibility") Visibility visibility,
+                                         @Param("location") String location,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+
+    //Find events by different criteria after a keyset cursor, ordered by (startTime, id)
+    @Query("SELECT e FROM Event e WHERE " +
+            "(:visibility IS NULL OR e.visibility = :visibility) AND " +
+            "(:location IS NULL OR LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+            "(:startDate IS NULL OR e.startTime >= :startDate) AND " +
+            "(:endDate IS NULL OR e.startTime <= :endDate) AND " +
+            "(:cursorStart IS NULL OR (e.startTime >= :cursorStart AND " +
+            "(e.startTime > :cursorStart OR e.id > :cursorId))) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findEventsByCriteriaAfter(@Param("visibility") Visibility visibility,
+                                          @Param("location") String location,
+                                          @Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") UUID cursorId,
+                                          Limit limit);
+
+    //Find events a user responded to, joined with attendances in a single query(pagination included)
+    @Query(value = "SELECT e FROM Event e JOIN Attendance a ON a.eventId = e.id WHERE " +
+            "a.userId = :userId AND a.status IN :statuses AND " +
+            "(:after IS NULL OR e.startTime > :after) " +
+            "ORDER BY e.startTime ASC",
+            countQuery = "SELECT COUNT(e) FROM Event e JOIN Attendance a ON a.eventId = e.id WHERE " +
+                    "a.userId = :userId AND a.status IN :statuses AND " +
+                    "(:after IS NULL OR e.startTime > :after)")
+    Page<Event> findEventsAttendedByUser(@Param("userId") UUID userId,
+                                         @Param("statuses") Collection<AttendanceStatus> statuses,
+                                         @Param("after") LocalDateTime after,
+                                         Pageable pageable);
 }
\ No newline at end of file
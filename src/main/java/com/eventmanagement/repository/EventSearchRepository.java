@@ -0,0 +1,24 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Visibility;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+//Ranked text search over events, native full-text and trigram matching on Postgres
+public interface EventSearchRepository {
+
+    //Document searched by the full-text index (V3__search_indexes.sql), queries must use the exact same expression to hit it
+    String SEARCH_VECTOR = "to_tsvector('simple', coalesce(e.title, '') || ' ' || " +
+            "coalesce(e.description, '') || ' ' || coalesce(e.location, ''))";
+
+    //Search title, description and location, best matches first, with the listing filters applied
+    Page<Event> searchEvents(String query,
+                             Visibility visibility,
+                             String location,
+                             LocalDateTime startDate,
+                             LocalDateTime endDate,
+                             Pageable pageable);
+}
@@ -0,0 +1,115 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Visibility;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native search query built per request, so only the filters that are set end up in the SQL.
+ * Both branches match a substring of the title, description or location. On Postgres the
+ * full-text index adds word matches on top and matches are ranked by ts_rank + similarity;
+ * other databases (H2 in tests) only use LIKE matching, with title matches ranked first.
+ */
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public EventSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<Event> searchEvents(String query, Visibility visibility, String location,
+                                    LocalDateTime startDate, LocalDateTime endDate,
+                                    Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String pattern = "%" + escapeLike(query.trim().toLowerCase()) + "%";
+        parameters.put("pattern", pattern);
+
+        StringBuilder where = new StringBuilder(" FROM events e WHERE ");
+        String rank;
+        if (isPostgres()) {
+            parameters.put("query", query.trim());
+            where.append("(").append(SEARCH_VECTOR).append(" @@ websearch_to_tsquery('simple', :query)")
+                    .append(" OR e.title ILIKE :pattern ESCAPE '\\' OR e.description ILIKE :pattern ESCAPE '\\'")
+                    .append(" OR e.location ILIKE :pattern ESCAPE '\\')");
+            rank = "ts_rank(" + SEARCH_VECTOR + ", websearch_to_tsquery('simple', :query))" +
+                    " + similarity(e.title, :query) + similarity(e.location, :query)";
+        } else {
+            where.append("(LOWER(e.title) LIKE :pattern ESCAPE '\\' OR LOWER(e.description) LIKE :pattern ESCAPE '\\'")
+                    .append(" OR LOWER(e.location) LIKE :pattern ESCAPE '\\')");
+            rank = "CASE WHEN LOWER(e.title) LIKE :pattern ESCAPE '\\' THEN 2 ELSE 0 END" +
+                    " + CASE WHEN LOWER(e.location) LIKE :pattern ESCAPE '\\' THEN 1 ELSE 0 END";
+        }
+
+        if (visibility != null) {
+            where.append(" AND e.visibility = :visibility");
+            parameters.put("visibility", visibility.name());
+        }
+        if (location != null) {
+            where.append(" AND LOWER(e.location) LIKE :location ESCAPE '\\'");
+            parameters.put("location", "%" + escapeLike(location.toLowerCase()) + "%");
+        }
+        if (startDate != null) {
+            where.append(" AND e.start_time >= :startDate");
+            parameters.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            where.append(" AND e.start_time <= :endDate");
+            parameters.put("endDate", endDate);
+        }
+
+        Query select = entityManager.createNativeQuery(
+                "SELECT e.*" + where + " ORDER BY " + rank + " DESC, e.start_time ASC, e.id ASC", Event.class);
+        parameters.forEach(select::setParameter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+
+        @SuppressWarnings("unchecked")
+        List<Event> events = select.getResultList();
+
+        // Skip the count when the first page is not full
+        if (pageable.getOffset() == 0 && events.size() < pageable.getPageSize()) {
+            return new PageImpl<>(events, pageable, events.size());
+        }
+
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + where);
+        parameters.forEach(count::setParameter);
+        long total = ((Number) count.getSingleResult()).longValue();
+
+        return new PageImpl<>(events, pageable, total);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return metaData.getDatabaseProductName().toLowerCase().contains("postgres");
+            }));
+        }
+        return postgres;
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
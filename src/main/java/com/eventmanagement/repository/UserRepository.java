@@ -1,13 +1,21 @@
 package com.eventmanagement.repository;
 
+import com.eventmanagement.dto.user.UserSummary;
 import com.eventmanagement.entity.User;
 import com.eventmanagement.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +23,14 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
-    //Find user by email
+    //Query cache region of the lookups by email, dropped on every node when a user changes (CacheInvalidationListener)
+    String EMAIL_QUERY_REGION = "user-email-queries";
+
+    //Find user by email, cached in the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMAIL_QUERY_REGION)
+    })
     Optional<User> findByEmail(String email);
 
     //Check if email exists
@@ -27,4 +42,26 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     //FInd user by role with pagination
     Page<User> findByRole(Role role, Pageable pageable);
 
+    //Find user summaries (no password hash) for a batch of users in one IN query
+    @Query("SELECT new com.eventmanagement.dto.user.UserSummary(u.id, u.name, u.email, u.role) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    //Find user summary (no password hash) by email, cached in the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMAIL_QUERY_REGION)
+    })
+    @Query("SELECT new com.eventmanagement.dto.user.UserSummary(u.id, u.name, u.email, u.role) " +
+            "FROM User u WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(@Param("email") String email);
+
+    //Find the current token version of a user
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") UUID id);
+
+    //Bump the token version so every token issued before is rejected
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.eventmanagement.security;
 
+import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.User;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,6 +18,10 @@ public class CustomUserDetails implements UserDetails {
     private final String name;
     @Getter
     private final String email;
+    @Getter
+    private final Role role;
+    @Getter
+    private final long tokenVersion;
 
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
@@ -26,9 +31,24 @@ public class CustomUserDetails implements UserDetails {
         this.name = user.getName();
         this.email = user.getEmail();
         this.password = user.getPassword();
+        this.role = user.getRole();
+        this.tokenVersion = user.getTokenVersion();
         this.authorities = Collections.singletonList(user.getRole());
     }
 
+    /**
+     * Principal rebuilt from verified JWT claims, carries no password
+     */
+    public CustomUserDetails(UUID id, String name, String email, Role role, long tokenVersion) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = null;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.authorities = Collections.singletonList(role);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
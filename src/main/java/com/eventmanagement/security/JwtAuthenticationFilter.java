@@ -1,5 +1,8 @@
 package com.eventmanagement.security;
 
+import com.eventmanagement.cache.UserDirectory;
+import com.eventmanagement.dto.user.UserSummary;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,12 +28,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserDirectory userDirectory;
+    private final TokenRevocationChecker tokenRevocationChecker;
 
     // Constructor injection instead of @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDirectory userDirectory,
+                                   TokenRevocationChecker tokenRevocationChecker) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.userDirectory = userDirectory;
+        this.tokenRevocationChecker = tokenRevocationChecker;
     }
 
     @Override
@@ -41,12 +49,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwtToken = tokenExtract(request); // Enhanced: Extracted method
 
             if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String username = jwtUtil.extractUsername(jwtToken);
+                // Single verification per request, repeated tokens come from the verified cache
+                Claims claims = jwtUtil.verifyToken(jwtToken);
+                String username = claims.getSubject();
 
                 if (username != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = loadPrincipal(claims);
 
-                    if (jwtUtil.validateToken(jwtToken, userDetails)) {
+                    if (jwtUtil.validateToken(claims, userDetails) && !isRevoked(userDetails, claims)) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails, null, userDetails.getAuthorities());
@@ -62,6 +72,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Principal comes from the claims, tokens issued before the identity claims go through the user directory
+    private UserDetails loadPrincipal(Claims claims) {
+        CustomUserDetails principal = jwtUtil.toUserDetails(claims);
+        if (principal != null) {
+            return principal;
+        }
+        UserSummary user = userDirectory.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + claims.getSubject()));
+        return new CustomUserDetails(user.getId(), user.getName(), user.getEmail(), user.getRole(), 0L);
+    }
+
+    private boolean isRevoked(UserDetails userDetails, Claims claims) {
+        return userDetails instanceof CustomUserDetails principal
+                && tokenRevocationChecker.isRevoked(principal, claims);
+    }
+
     private String tokenExtract(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -1,40 +1,89 @@
 package com.eventmanagement.security;
 
+import com.eventmanagement.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String NAME_CLAIM = "name";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "tv";
+
     @Value("${app.security.jwt.secret-key}")
     private String jwtSecret;
 
     @Value("${app.security.jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Value("${app.security.jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Claims of tokens that already passed signature verification, keyed by token digest, dropped at token expiry
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> timeToExpiry(claims)))
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        addIdentityClaims(claims, userDetails);
         return createToken(claims, userDetails.getUsername());
     }
 
 
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         Map<String, Object> claims = new HashMap<>(extraClaims);
+        addIdentityClaims(claims, userDetails);
         return createToken(claims, userDetails.getUsername());
     }
 
+    // Identity claims let the filter build the principal without loading the user
+    private void addIdentityClaims(Map<String, Object> claims, UserDetails userDetails) {
+        if (userDetails instanceof CustomUserDetails user) {
+            claims.put(USER_ID_CLAIM, user.getId().toString());
+            claims.put(NAME_CLAIM, user.getName());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
@@ -44,7 +93,7 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -62,25 +111,74 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verify the token and return its claims, parsing and checking the signature at most once per token
+     */
+    public Claims verifyToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(digest, claims);
+        } else if (isExpired(claims)) {
+            verifiedTokens.invalidate(digest);
+            throw new ExpiredJwtException(null, claims, "JWT expired");
+        }
+        return claims;
+    }
+
+    /**
+     * Build the principal from verified claims, null for tokens issued without the identity claims
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new CustomUserDetails(
+                UUID.fromString(userId),
+                claims.get(NAME_CLAIM, String.class),
+                claims.getSubject(),
+                Role.valueOf(role),
+                getTokenVersion(claims));
+    }
+
+    public long getTokenVersion(Claims claims) {
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return tokenVersion != null ? tokenVersion.longValue() : 0L;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verifyToken(token);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verifyToken(token), userDetails);
+    }
+
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims));
+    }
+
+    private Duration timeToExpiry(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ofMillis(jwtExpirationMs);
+        }
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remainingMs, 0));
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Revocation check for stateless principals, on unless turned off. A token is revoked once the
+ * user's token version moves past the version embedded in the token; versions are cached for a
+ * short time. A revocation drops the cached version once it commits and tells the other nodes
+ * over Redis pub/sub as {@code nodeId|userId}; the TTL covers a node that missed the message.
+ */
+@Slf4j
+@Component
+public class TokenRevocationChecker implements MessageListener {
+
+    private static final long UNKNOWN_USER = -1L;
+
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final boolean enabled;
+    private final String topic;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LoadingCache<UUID, Long> tokenVersions;
+
+    public TokenRevocationChecker(UserRepository userRepository,
+                                  JwtUtil jwtUtil,
+                                  ObjectProvider<StringRedisTemplate> redisTemplate,
+                                  @Value("${app.security.jwt.revocation-check.enabled:true}") boolean enabled,
+                                  @Value("${app.security.jwt.revocation-check.cache-ttl:PT30S}") Duration cacheTtl,
+                                  @Value("${app.security.jwt.revocation-check.topic:token-revocations}") String topic) {
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.topic = topic;
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(cacheTtl)
+                .build(userId -> userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER));
+    }
+
+    /**
+     * Check whether the token was revoked, always false when the check is disabled
+     */
+    public boolean isRevoked(CustomUserDetails principal, Claims claims) {
+        if (!enabled) {
+            return false;
+        }
+        return tokenVersions.get(principal.getId()) != jwtUtil.getTokenVersion(claims);
+    }
+
+    /**
+     * Revoke every token issued to the user so far. The cached versions are dropped after the
+     * commit, a reload before it would cache the old version again.
+     */
+    @Transactional
+    public void revokeTokens(UUID userId) {
+        userRepository.incrementTokenVersion(userId);
+        AfterCommit.run(() -> {
+            tokenVersions.invalidate(userId);
+            publish(userId);
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        tokenVersions.invalidate(UUID.fromString(parts[1]));
+        log.debug("Applied remote token revocation of user {}", parts[1]);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    private void publish(UUID userId) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.convertAndSend(topic, String.join("|", nodeId, userId.toString()));
+        } catch (RuntimeException e) {
+            // Other nodes reload the version once their cache entry expires
+            log.warn("Could not publish token revocation of user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,26 +1,46 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.AttendanceStatusCache;
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.attendance.AttendanceResponse;
+import com.eventmanagement.dto.attendance.BulkAttendanceOutcome;
+import com.eventmanagement.dto.attendance.BulkAttendanceRequest;
+import com.eventmanagement.dto.attendance.BulkAttendanceResponse;
+import com.eventmanagement.dto.attendance.BulkAttendanceResult;
 import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
 import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
+import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.dto.user.UserSummary;
 import com.eventmanagement.entity.Attendance;
+import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Event;
-import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.exception.ConflictException;
 import com.eventmanagement.mapper.AttendanceMapper;
 import com.eventmanagement.repository.AttendanceRepository;
+import com.eventmanagement.repository.AttendanceWriteRepository.RespondedEvent;
 import com.eventmanagement.repository.EventRepository;
-import com.eventmanagement.repository.UserRepository;
 import com.eventmanagement.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,76 +49,250 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final AttendeeCounterService attendeeCounterService;
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final AttendanceStatusCache attendanceStatusCache;
     private final AttendanceMapper attendanceMapper;
+    private final AttendanceWriteBehind attendanceWriteBehind;
+    private final EventService eventService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Respond to an event
+     * Respond to an event. The event check, the duplicate check and the insert are one upsert,
+     * so concurrent requests of the same user get a conflict instead of a constraint violation.
+     * A GOING response takes a seat with the conditional counter update. The cache positions are
+     * worked out before it, so the counter row is locked by the last statement only, until the commit.
+     * <p>
+     * In write-behind mode the response is validated and queued without a transaction.
      */
-    @Transactional
-    @CacheEvict(value = {"attendeeCounts", "userEvents"}, allEntries = true)
     public AttendanceResponse respondToAnEvent(CreateAttendanceRequest request) {
         UUID currentUserId = getCurrentUserId();
+        UserSummary user = userDirectory.findById(currentUserId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Optional<AttendanceResponse> queued = queueResponse(request.getEventId(), user, request.getStatus(), true);
+        if (queued.isPresent()) {
+            return queued.get();
+        }
+        return transactionTemplate.execute(status -> insertResponse(request, user));
+    }
+
+    private AttendanceResponse insertResponse(CreateAttendanceRequest request, UserSummary user) {
+        Attendance attendance = new Attendance(request.getEventId(), user.getId(), request.getStatus());
+        attendance.setId(UUID.randomUUID());
+        attendance.setRespondedAt(attendance.getRespondedAt().truncatedTo(ChronoUnit.MICROS));
 
-        Event event = eventRepository.findById(request.getEventId())
+        RespondedEvent event = attendanceRepository.insertIfAbsent(attendance)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (!event.created()) {
+            throw new ConflictException("Already responded to the event");
+        }
+
+        eventCacheInvalidator.attendanceChanged(attendance.getEventId(), event.startTime());
+        attendeeCounterService.recordResponse(attendance.getEventId(), null, attendance.getStatus());
+
+        AttendanceResponse response = attendanceMapper.toResponse(attendance, event.title(), user.getName());
+        attendanceStatusCache.putAfterCommit(response);
+        return response;
+    }
+
+    /**
+     * Respond to a batch of events at once, creating or updating the user's response for each.
+     * Events and existing responses are loaded with one query each and the changed rows are
+     * written in JDBC batches. Failed items, including GOING responses to full events, do not
+     * stop the others.
+     */
+    @Transactional
+    public BulkAttendanceResponse respondToEvents(BulkAttendanceRequest request) {
+        UUID currentUserId = getCurrentUserId();
+        List<CreateAttendanceRequest> items = request.getResponses();
+        Set<UUID> eventIds = items.stream()
+                .map(CreateAttendanceRequest::getEventId)
+                .collect(Collectors.toSet());
 
-        if (attendanceRepository.existsByEventIdAndUserId(request.getEventId(), currentUserId)) {
-            throw new RuntimeException("Already responded to the event");
+        Map<UUID, Event> events = eventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        // Locked until the commit, a concurrent request of the same user would otherwise apply the same previous status
+        Map<UUID, Attendance> existing = attendanceRepository.findForUpdateByUserIdAndEventIdIn(currentUserId, eventIds).stream()
+                .collect(Collectors.toMap(Attendance::getEventId, Function.identity()));
+        UserSummary user = userDirectory.findById(currentUserId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        List<BulkAttendanceResult> results = new ArrayList<>();
+        List<PendingResponse> pending = new ArrayList<>();
+        Map<UUID, EventAttendeeCounter> deltas = new HashMap<>();
+        Set<UUID> seen = new HashSet<>();
+
+        for (CreateAttendanceRequest item : items) {
+            UUID eventId = item.getEventId();
+            BulkAttendanceResult result = new BulkAttendanceResult();
+            result.setEventId(eventId.toString());
+            results.add(result);
+
+            if (!events.containsKey(eventId)) {
+                fail(result, "Event not found");
+                continue;
+            }
+            if (!seen.add(eventId)) {
+                fail(result, "Duplicate event in request");
+                continue;
+            }
+
+            Attendance attendance = existing.get(eventId);
+            AttendanceStatus previousStatus = attendance != null ? attendance.getStatus() : null;
+            if (attendance == null) {
+                result.setOutcome(BulkAttendanceOutcome.CREATED);
+            } else if (previousStatus == item.getStatus()) {
+                result.setOutcome(BulkAttendanceOutcome.UNCHANGED);
+            } else {
+                result.setOutcome(BulkAttendanceOutcome.UPDATED);
+            }
+
+            if (result.getOutcome() != BulkAttendanceOutcome.UNCHANGED) {
+                EventAttendeeCounter delta = deltas.computeIfAbsent(eventId, EventAttendeeCounter::new);
+                if (previousStatus != null) {
+                    delta.increment(previousStatus, -1);
+                }
+                delta.increment(item.getStatus(), 1);
+            }
+            pending.add(new PendingResponse(item, attendance, result));
         }
 
-        Attendance attendance = new Attendance(
-                request.getEventId(),
-                currentUserId,
-                request.getStatus()
-        );
+        // Cache positions are counted once for the batch, before the counter rows get locked
+        eventCacheInvalidator.attendanceChanged(deltas.keySet().stream().map(events::get).toList());
+
+        // Counters go first, responses that would take a full event over its capacity are not written
+        Set<UUID> fullEvents = attendeeCounterService.recordResponses(deltas.values());
+
+        List<Attendance> changed = new ArrayList<>();
+        List<PendingResponse> accepted = new ArrayList<>();
+        for (PendingResponse item : pending) {
+            UUID eventId = item.request().getEventId();
+            if (fullEvents.contains(eventId)) {
+                fail(item.result(), "Event is full");
+                continue;
+            }
+
+            Attendance attendance = item.attendance();
+            if (attendance == null) {
+                attendance = new Attendance(eventId, currentUserId, item.request().getStatus());
+                changed.add(attendance);
+            } else if (item.result().getOutcome() == BulkAttendanceOutcome.UPDATED) {
+                attendance.updateStatus(item.request().getStatus());
+                changed.add(attendance);
+            }
+            accepted.add(new PendingResponse(item.request(), attendance, item.result()));
+        }
+
+        attendanceRepository.saveAll(changed);
+
+        for (PendingResponse item : accepted) {
+            Attendance attendance = item.attendance();
+            AttendanceResponse response = attendanceMapper.toResponse(
+                    attendance, events.get(attendance.getEventId()).getTitle(), user.getName());
+            item.result().setAttendance(response);
+            attendanceStatusCache.putAfterCommit(response);
+        }
+
+        int failed = (int) results.stream()
+                .filter(result -> result.getOutcome() == BulkAttendanceOutcome.FAILED)
+                .count();
+        log.info("User {} responded to {} events in bulk, {} failed", currentUserId, results.size() - failed, failed);
+
+        return new BulkAttendanceResponse(results, results.size() - failed, failed);
+    }
 
-        Attendance savedAttendance = attendanceRepository.save(attendance);
+    private void fail(BulkAttendanceResult result, String error) {
+        result.setOutcome(BulkAttendanceOutcome.FAILED);
+        result.setError(error);
+    }
 
-        return mapToAttendanceResponseWithEvent(savedAttendance, event);
+    private record PendingResponse(CreateAttendanceRequest request, Attendance attendance, BulkAttendanceResult result) {
     }
 
     /**
      * Optimized mapping when event is already available
      */
     private AttendanceResponse mapToAttendanceResponseWithEvent(Attendance attendance, Event event) {
-        User user = userRepository.findById(attendance.getUserId())
+        UserSummary user = userDirectory.findById(attendance.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return attendanceMapper.toResponse(attendance, event.getTitle(), user.getName());
     }
     /**
-     * Update attendance status for an event
+     * Update attendance status for an event, the counter update is the last statement as in {@link #respondToAnEvent}.
+     * In write-behind mode the response is validated and queued without a transaction.
      */
-    @Transactional
-    @CacheEvict(value = {"attendeeCounts", "userEvents"}, allEntries = true)
     public AttendanceResponse updateTheAttendance(UUID eventId, UpdateAttendanceRequest request) {
         UUID currentUserId = getCurrentUserId();
 
-        // Find existing attendance
-        Attendance attendance = attendanceRepository.findByEventIdAndUserId(eventId, currentUserId)
+        if (attendanceWriteBehind.isEnabled()) {
+            UserSummary user = userDirectory.findById(currentUserId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            Optional<AttendanceResponse> queued = queueResponse(eventId, user, request.getStatus(), false);
+            if (queued.isPresent()) {
+                return queued.get();
+            }
+        }
+        return transactionTemplate.execute(status -> updateResponse(eventId, currentUserId, request));
+    }
+
+    private AttendanceResponse updateResponse(UUID eventId, UUID currentUserId, UpdateAttendanceRequest request) {
+        // Find existing attendance, locked so a concurrent update cannot apply the same previous status
+        Attendance attendance = attendanceRepository.findForUpdate(eventId, currentUserId)
                 .orElseThrow(() -> new RuntimeException("Not responded to the event yet"));
 
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        eventCacheInvalidator.attendanceChanged(event);
+
         // Update status
+        AttendanceStatus previousStatus = attendance.getStatus();
         attendance.updateStatus(request.getStatus());
         Attendance updatedAttendance = attendanceRepository.save(attendance);
+        attendeeCounterService.recordResponse(eventId, previousStatus, updatedAttendance.getStatus());
 
         log.info("User {} updated attendance to {} for event {}", currentUserId, request.getStatus(), eventId);
 
-        return mapToAttendanceResponse(updatedAttendance);
+        AttendanceResponse response = mapToAttendanceResponseWithEvent(updatedAttendance, event);
+        attendanceStatusCache.putAfterCommit(response);
+        return response;
     }
 
     /**
      * Get my attendance status for a specific event
      */
-    @Cacheable(value = "attendeeCounts", key = "#eventId")
+    @Transactional(readOnly = true)
     public AttendanceResponse getMyAttendanceStatus(UUID eventId) {
         UUID currentUserId = getCurrentUserId();
 
+        Optional<AttendanceWriteAheadLog.Entry> pending = attendanceWriteBehind.findQueued(eventId, currentUserId);
+        if (pending.isPresent()) {
+            // The event is read first, so a miss fetches this transaction's connection from the primary
+            String eventTitle = eventService.getAnEvent(eventId).getTitle();
+            UserSummary user = userDirectory.findById(currentUserId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return toQueuedResponse(pending.get(), eventTitle, user);
+        }
+
+        Optional<AttendanceResponse> cached = attendanceStatusCache.get(eventId, currentUserId);
+        if (cached.isPresent()) {
+            if (AttendanceStatusCache.isNotResponded(cached.get())) {
+                throw new RuntimeException("Not responded to the event yet");
+            }
+            return cached.get();
+        }
+
         Attendance attendance = attendanceRepository.findByEventIdAndUserId(eventId, currentUserId)
-                .orElseThrow(() -> new RuntimeException("Not responded to the event yet"));
+                .orElseThrow(() -> {
+                    attendanceStatusCache.putNotResponded(eventId, currentUserId);
+                    return new RuntimeException("Not responded to the event yet");
+                });
 
-        return mapToAttendanceResponse(attendance);
+        AttendanceResponse response = mapToAttendanceResponse(attendance);
+        attendanceStatusCache.putIfAbsent(response);
+        return response;
     }
 
     /**
@@ -108,12 +302,69 @@ public class AttendanceService {
         Event event = eventRepository.findById(attendance.getEventId())
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        User user = userRepository.findById(attendance.getUserId())
+        UserSummary user = userDirectory.findById(attendance.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return attendanceMapper.toResponse(attendance, event.getTitle(), user.getName()); // Using MapStruct
     }
 
+    /**
+     * Queue the response in write-behind mode. Events with a capacity are left to the synchronous
+     * path, their seats are only taken in the database. A new response is rejected when the user
+     * already responded, an update when the user has not, like on the synchronous path.
+     */
+    private Optional<AttendanceResponse> queueResponse(UUID eventId, UserSummary user, AttendanceStatus status,
+                                                       boolean create) {
+        if (!attendanceWriteBehind.isEnabled()) {
+            return Optional.empty();
+        }
+        EventResponse event = eventService.getAnEvent(eventId);
+        if (event.getCapacity() != null) {
+            return Optional.empty();
+        }
+
+        boolean responded = hasResponded(eventId, user.getId());
+        if (create && responded) {
+            throw new ConflictException("Already responded to the event");
+        }
+        if (!create && !responded) {
+            throw new RuntimeException("Not responded to the event yet");
+        }
+
+        AttendanceWriteAheadLog.Entry entry = create
+                ? attendanceWriteBehind.submitIfAbsent(eventId, user.getId(), status)
+                        .orElseThrow(() -> new ConflictException("Already responded to the event"))
+                : attendanceWriteBehind.submit(eventId, user.getId(), status);
+        AttendanceResponse response = toQueuedResponse(entry, event.getTitle(), user);
+        attendanceStatusCache.putAfterCommit(response);
+        log.debug("User {} queued {} for event {}", user.getId(), status, eventId);
+        return Optional.of(response);
+    }
+
+    // Queued, cached or stored response of the user, the database is only asked on a cache miss
+    private boolean hasResponded(UUID eventId, UUID userId) {
+        if (attendanceWriteBehind.findQueued(eventId, userId).isPresent()) {
+            return true;
+        }
+        Optional<AttendanceResponse> cached = attendanceStatusCache.get(eventId, userId);
+        if (cached.isPresent()) {
+            return !AttendanceStatusCache.isNotResponded(cached.get());
+        }
+        return attendanceRepository.existsByEventIdAndUserId(eventId, userId);
+    }
+
+    private AttendanceResponse toQueuedResponse(AttendanceWriteAheadLog.Entry entry, String eventTitle, UserSummary user) {
+        AttendanceResponse response = new AttendanceResponse();
+        response.setEventId(entry.eventId().toString());
+        response.setEventTitle(eventTitle);
+        response.setUserId(entry.userId().toString());
+        response.setUserName(user.getName());
+        response.setStatus(entry.status());
+        response.setRespondedAt(entry.respondedAt());
+        response.setQueued(true);
+        return response;
+    }
+
     /**
      * Get the current user's ID from the security context
      */
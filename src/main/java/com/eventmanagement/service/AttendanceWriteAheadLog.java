@@ -0,0 +1,289 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.AttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of queued attendance responses, split in numbered segment files. Each entry is
+ * one line {@code crc|eventId|userId|status|respondedAt}, so a line torn by a crash fails its
+ * checksum and is skipped on replay. Appends are fsync'd with group commit: concurrent writers
+ * share one force of the channel.
+ * <p>
+ * The writer rotates to a new segment before flushing, and deletes the sealed segments once their
+ * entries are in the database. Whatever is still on disk at startup is replayed.
+ * <p>
+ * Entries the writer gives up on are parked in {@code parked.log} in the same line format. The
+ * file is never replayed, it is there to inspect and to replay by hand.
+ */
+@Slf4j
+public class AttendanceWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "attendance-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String PARKED_FILE = "parked.log";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private Path segment;
+    private long sequence;
+    // Bytes written to and forced from the current segment, a force covers everything written before it
+    private volatile long written;
+    private long synced;
+
+    public AttendanceWriteAheadLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            // Segments of runs that never queued anything
+            for (Path path : segments()) {
+                if (Files.size(path) == 0) {
+                    Files.delete(path);
+                }
+            }
+            sequence = segments().stream()
+                    .mapToLong(AttendanceWriteAheadLog::sequenceOf)
+                    .max()
+                    .orElse(0);
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the attendance log in " + directory, e);
+        }
+    }
+
+    /**
+     * Append an entry, returns once it is on disk
+     */
+    public void append(Entry entry) {
+        byte[] line = encode(entry);
+        long position;
+        FileChannel target;
+        synchronized (writeLock) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to the attendance log", e);
+            }
+            written += line.length;
+            position = written;
+            target = channel;
+        }
+
+        if (fsync) {
+            force(target, position);
+        }
+    }
+
+    /**
+     * Start a new segment and return the sealed ones, oldest first. Appends made before the call
+     * are all in the returned segments.
+     */
+    public List<Path> rotate() {
+        synchronized (writeLock) {
+            synchronized (syncLock) {
+                try {
+                    if (fsync) {
+                        channel.force(false);
+                    }
+                    channel.close();
+                    openNextSegment();
+                    return segments().stream()
+                            .filter(path -> !path.equals(segment))
+                            .toList();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not rotate the attendance log", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entries of the sealed segments left by a previous run, in append order
+     */
+    public List<Entry> replay() {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (Path path : segments()) {
+                if (!path.equals(segment)) {
+                    read(path, entries);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the attendance log", e);
+        }
+        return entries;
+    }
+
+    /**
+     * Remove segments whose entries have been written to the database
+     */
+    public void delete(List<Path> sealed) {
+        for (Path path : sealed) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // Replayed again on the next startup, writes are idempotent
+                log.warn("Could not delete attendance log segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Set an entry aside that could not be written to the database
+     */
+    public void park(Entry entry) {
+        List<StandardOpenOption> options = new ArrayList<>(
+                List.of(StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        if (fsync) {
+            options.add(StandardOpenOption.SYNC);
+        }
+        try {
+            Files.write(directory.resolve(PARKED_FILE), encode(entry), options.toArray(StandardOpenOption[]::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not park an attendance log entry", e);
+        }
+    }
+
+    /**
+     * Entries parked so far, in park order
+     */
+    public List<Entry> parked() {
+        Path path = directory.resolve(PARKED_FILE);
+        List<Entry> entries = new ArrayList<>();
+        try {
+            if (Files.exists(path)) {
+                read(path, entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the parked attendance log entries", e);
+        }
+        return entries;
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close the attendance log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void force(FileChannel target, long position) {
+        synchronized (syncLock) {
+            if (target != channel || synced >= position) {
+                // Forced by another writer, or sealed by a rotation that forced it
+                return;
+            }
+            long upTo = written;
+            try {
+                target.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync the attendance log", e);
+            }
+            synced = upTo;
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        sequence++;
+        segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        written = 0;
+        synced = 0;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void read(Path path, List<Entry> entries) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                Entry entry = decode(line);
+                if (entry == null) {
+                    log.warn("Skipping unreadable entry {} of attendance log segment {}", lineNumber, path);
+                    continue;
+                }
+                entries.add(entry);
+            }
+        }
+    }
+
+    static byte[] encode(Entry entry) {
+        String payload = String.join("|", entry.eventId().toString(), entry.userId().toString(),
+                entry.status().name(), entry.respondedAt().toString());
+        return (checksum(payload) + "|" + payload + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Entry decode(String line) {
+        int separator = line.indexOf('|');
+        if (separator < 0) {
+            return null;
+        }
+        String payload = line.substring(separator + 1);
+        if (!line.substring(0, separator).equals(checksum(payload))) {
+            return null;
+        }
+
+        String[] parts = payload.split("\\|");
+        try {
+            return new Entry(UUID.fromString(parts[0]), UUID.fromString(parts[1]),
+                    AttendanceStatus.valueOf(parts[2]), LocalDateTime.parse(parts[3]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String checksum(String payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * One queued response, the latest entry of an (event, user) pair wins
+     */
+    public record Entry(UUID eventId, UUID userId, AttendanceStatus status, LocalDateTime respondedAt) {
+    }
+}
@@ -0,0 +1,412 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.AttendanceStatusCache;
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.cache.UserDirectory;
+import com.eventmanagement.dto.user.UserSummary;
+import com.eventmanagement.entity.Attendance;
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.mapper.AttendanceMapper;
+import com.eventmanagement.repository.AttendanceRepository;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.AttendanceWriteAheadLog.Entry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind mode for RSVPs. A response is appended to the local write-ahead log and
+ * acknowledged once it is on disk, then coalesced per (event, user) in memory. A background
+ * writer moves the queued responses to the attendances table in batches, one transaction per
+ * batch, and drops the log segments they came from once they commit. Segments left by a crash
+ * are replayed at startup.
+ * <p>
+ * Queued responses are upserts, the latest status of a pair wins. Responses whose event is gone
+ * by the time they are written are dropped with a warning. GOING responses to an event that is full
+ * by then are parked, the other responses to that event are still written.
+ * <p>
+ * A batch that fails is written again one response at a time, so one bad response cannot hold
+ * back the others. A response that keeps failing is parked in the log directory after
+ * {@code max-attempts} flushes, see {@link AttendanceWriteAheadLog#park}. When the database itself
+ * is unreachable nothing is counted against the responses, the flush backs off instead.
+ */
+@Slf4j
+@Service
+public class AttendanceWriteBehind {
+
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final AttendanceRepository attendanceRepository;
+    private final EventRepository eventRepository;
+    private final AttendeeCounterService attendeeCounterService;
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final AttendanceStatusCache attendanceStatusCache;
+    private final UserDirectory userDirectory;
+    private final AttendanceMapper attendanceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final AttendanceWriteAheadLog writeAheadLog;
+
+    // Appends hold the read lock, a flush takes the write lock to cut the log and the queue at the same point
+    private final ReadWriteLock cutLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+    private volatile Map<Key, Entry> queued = new ConcurrentHashMap<>();
+    private volatile Map<Key, Entry> flushing = Map.of();
+    // Guarded by flushLock
+    private final Map<Entry, Integer> failedAttempts = new HashMap<>();
+    private long backoffMillis;
+    private long retryAt;
+
+    public AttendanceWriteBehind(AttendanceRepository attendanceRepository,
+                                 EventRepository eventRepository,
+                                 AttendeeCounterService attendeeCounterService,
+                                 EventCacheInvalidator eventCacheInvalidator,
+                                 AttendanceStatusCache attendanceStatusCache,
+                                 UserDirectory userDirectory,
+                                 AttendanceMapper attendanceMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.attendance.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${app.attendance.write-behind.directory:data/attendance-wal}") String directory,
+                                 @Value("${app.attendance.write-behind.fsync:true}") boolean fsync,
+                                 @Value("${app.attendance.write-behind.batch-size:500}") int batchSize,
+                                 @Value("${app.attendance.write-behind.max-attempts:5}") int maxAttempts) {
+        this.attendanceRepository = attendanceRepository;
+        this.eventRepository = eventRepository;
+        this.attendeeCounterService = attendeeCounterService;
+        this.eventCacheInvalidator = eventCacheInvalidator;
+        this.attendanceStatusCache = attendanceStatusCache;
+        this.userDirectory = userDirectory;
+        this.attendanceMapper = attendanceMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.writeAheadLog = enabled ? new AttendanceWriteAheadLog(Path.of(directory), fsync) : null;
+
+        if (enabled) {
+            List<Entry> replayed = writeAheadLog.replay();
+            replayed.forEach(entry -> queued.put(Key.of(entry), entry));
+            if (!replayed.isEmpty()) {
+                log.info("Replayed {} queued attendance responses from {}", replayed.size(), directory);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a response, returns once it is in the log
+     */
+    public Entry submit(UUID eventId, UUID userId, AttendanceStatus status) {
+        Entry entry = new Entry(eventId, userId, status, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        cutLock.readLock().lock();
+        try {
+            writeAheadLog.append(entry);
+            queued.merge(Key.of(entry), entry, (previous, latest) ->
+                    latest.respondedAt().isBefore(previous.respondedAt()) ? previous : latest);
+        } finally {
+            cutLock.readLock().unlock();
+        }
+        return entry;
+    }
+
+    /**
+     * Queue a new response unless one of the same user is already queued, empty in that case
+     */
+    public Optional<Entry> submitIfAbsent(UUID eventId, UUID userId, AttendanceStatus status) {
+        Entry entry = new Entry(eventId, userId, status, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        Key key = Key.of(entry);
+        cutLock.readLock().lock();
+        try {
+            if (flushing.containsKey(key) || queued.putIfAbsent(key, entry) != null) {
+                return Optional.empty();
+            }
+            try {
+                writeAheadLog.append(entry);
+            } catch (RuntimeException e) {
+                queued.remove(key, entry);
+                throw e;
+            }
+        } finally {
+            cutLock.readLock().unlock();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Response of the user still waiting to be written, if any
+     */
+    public Optional<Entry> findQueued(UUID eventId, UUID userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Key key = new Key(eventId, userId);
+        Entry entry = queued.get(key);
+        return Optional.ofNullable(entry != null ? entry : flushing.get(key));
+    }
+
+    public int queuedCount() {
+        return queued.size() + flushing.size();
+    }
+
+    /**
+     * Responses that were parked instead of written, in park order
+     */
+    public List<Entry> parked() {
+        return enabled ? writeAheadLog.parked() : List.of();
+    }
+
+    /**
+     * Write the queued responses to the database in batches
+     */
+    @Scheduled(fixedDelayString = "${app.attendance.write-behind.flush-interval:PT0.2S}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (retryAt != 0 && System.nanoTime() - retryAt < 0) {
+                return;
+            }
+            List<Path> sealed;
+            cutLock.writeLock().lock();
+            try {
+                if (queued.isEmpty() && flushing.isEmpty()) {
+                    return;
+                }
+                // A previous failed flush left its entries in flushing, newer ones win
+                Map<Key, Entry> batch = new HashMap<>(flushing);
+                batch.putAll(queued);
+                flushing = batch;
+                queued = new ConcurrentHashMap<>();
+                // Attempts of responses replaced by a newer one no longer matter
+                failedAttempts.keySet().retainAll(batch.values());
+                sealed = writeAheadLog.rotate();
+            } finally {
+                cutLock.writeLock().unlock();
+            }
+
+            List<Entry> entries = new ArrayList<>(flushing.values());
+            Map<Key, Entry> unwritten = new HashMap<>(flushing);
+            try {
+                for (int start = 0; start < entries.size(); start += batchSize) {
+                    writeChunk(entries.subList(start, Math.min(start + batchSize, entries.size())), unwritten);
+                }
+            } catch (RuntimeException e) {
+                // Retried once the back-off has passed, the segments stay on disk until then
+                backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(MIN_BACKOFF_MILLIS, backoffMillis * 2));
+                retryAt = System.nanoTime() + backoffMillis * 1_000_000;
+                flushing = unwritten;
+                log.warn("Could not write {} queued attendance responses, retrying in {} ms: {}",
+                        unwritten.size(), backoffMillis, e.getMessage());
+                return;
+            }
+            backoffMillis = 0;
+            retryAt = 0;
+
+            // Responses that failed on their own wait for the next run, together with their segments
+            flushing = unwritten;
+            if (unwritten.isEmpty()) {
+                writeAheadLog.delete(sealed);
+            }
+            log.debug("Wrote {} queued attendance responses", entries.size() - unwritten.size());
+        }
+    }
+
+    // Written or parked responses leave unwritten, a database outage is thrown to back off the whole flush
+    private void writeChunk(List<Entry> chunk, Map<Key, Entry> unwritten) {
+        List<Entry> full;
+        try {
+            full = transactionTemplate.execute(status -> write(chunk));
+        } catch (RuntimeException e) {
+            if (isOutage(e)) {
+                throw e;
+            }
+            if (chunk.size() == 1) {
+                failed(chunk.get(0), unwritten, e);
+                return;
+            }
+            log.warn("Could not write a batch of {} queued attendance responses, writing them one by one: {}",
+                    chunk.size(), e.getMessage());
+            chunk.forEach(entry -> writeEntry(entry, unwritten));
+            return;
+        }
+        // Parked before they leave unwritten, a response that cannot be parked is tried again
+        full.forEach(this::parkFull);
+        chunk.forEach(entry -> written(entry, unwritten));
+    }
+
+    private void writeEntry(Entry entry, Map<Key, Entry> unwritten) {
+        List<Entry> full;
+        try {
+            full = transactionTemplate.execute(status -> write(List.of(entry)));
+        } catch (RuntimeException e) {
+            if (isOutage(e)) {
+                throw e;
+            }
+            failed(entry, unwritten, e);
+            return;
+        }
+        full.forEach(this::parkFull);
+        written(entry, unwritten);
+    }
+
+    private void written(Entry entry, Map<Key, Entry> unwritten) {
+        unwritten.remove(Key.of(entry), entry);
+        failedAttempts.remove(entry);
+    }
+
+    private void failed(Entry entry, Map<Key, Entry> unwritten, RuntimeException e) {
+        int attempts = failedAttempts.merge(entry, 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            log.warn("Could not write queued response of user {} for event {}, attempt {} of {}: {}",
+                    entry.userId(), entry.eventId(), attempts, maxAttempts, e.getMessage());
+            return;
+        }
+        writeAheadLog.park(entry);
+        failedAttempts.remove(entry);
+        unwritten.remove(Key.of(entry), entry);
+        log.error("Parked queued response of user {} for event {} after {} failed attempts", entry.userId(),
+                entry.eventId(), attempts, e);
+    }
+
+    // Parked once the batch committed, so a batch written again one by one cannot park it twice
+    private void parkFull(Entry entry) {
+        writeAheadLog.park(entry);
+        log.warn("Parked queued response of user {}, event {} is full", entry.userId(), entry.eventId());
+    }
+
+    // The database is unreachable or overloaded, not a problem with the responses being written
+    private static boolean isOutage(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (enabled) {
+            flush();
+            writeAheadLog.close();
+        }
+    }
+
+    // Same shape as the bulk RSVP: one query per table, counters first, changed rows in JDBC batches.
+    // Returns the GOING responses left out because their event is full.
+    private List<Entry> write(List<Entry> chunk) {
+        Set<UUID> eventIds = chunk.stream().map(Entry::eventId).collect(Collectors.toSet());
+        Set<UUID> userIds = chunk.stream().map(Entry::userId).collect(Collectors.toSet());
+
+        Map<UUID, Event> events = eventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Map<Key, Attendance> existing = attendanceRepository.findByEventIdInAndUserIdIn(eventIds, userIds).stream()
+                .collect(Collectors.toMap(attendance -> new Key(attendance.getEventId(), attendance.getUserId()),
+                        Function.identity()));
+
+        List<Entry> pending = new ArrayList<>();
+        Map<UUID, EventAttendeeCounter> deltas = new HashMap<>();
+        for (Entry entry : chunk) {
+            if (!events.containsKey(entry.eventId())) {
+                log.warn("Dropping queued response of user {}, event {} not found", entry.userId(), entry.eventId());
+                continue;
+            }
+            Attendance attendance = existing.get(Key.of(entry));
+            if (attendance != null && attendance.getStatus() == entry.status()) {
+                continue;
+            }
+
+            addDelta(deltas, entry, attendance);
+            pending.add(entry);
+        }
+
+        eventCacheInvalidator.attendanceChanged(deltas.keySet().stream().map(events::get).toList());
+        Set<UUID> fullEvents = attendeeCounterService.recordResponses(deltas.values());
+
+        // A full event rejected the summed delta of all its responses, only the ones taking a seat
+        // are left out and the others are counted again without them
+        List<Entry> full = new ArrayList<>();
+        if (!fullEvents.isEmpty()) {
+            Map<UUID, EventAttendeeCounter> retried = new HashMap<>();
+            for (Entry entry : pending) {
+                if (!fullEvents.contains(entry.eventId())) {
+                    continue;
+                }
+                if (entry.status() == AttendanceStatus.GOING) {
+                    full.add(entry);
+                } else {
+                    addDelta(retried, entry, existing.get(Key.of(entry)));
+                }
+            }
+            attendeeCounterService.recordResponses(retried.values());
+            pending.removeAll(full);
+        }
+
+        List<Attendance> changed = new ArrayList<>();
+        for (Entry entry : pending) {
+            Attendance attendance = existing.get(Key.of(entry));
+            if (attendance == null) {
+                attendance = new Attendance(entry.eventId(), entry.userId(), entry.status());
+            }
+            attendance.setStatus(entry.status());
+            attendance.setRespondedAt(entry.respondedAt());
+            changed.add(attendance);
+        }
+
+        attendanceRepository.saveAll(changed);
+
+        for (Attendance attendance : changed) {
+            String userName = userDirectory.findById(attendance.getUserId())
+                    .map(UserSummary::getName)
+                    .orElse(null);
+            attendanceStatusCache.putAfterCommit(attendanceMapper.toResponse(
+                    attendance, events.get(attendance.getEventId()).getTitle(), userName));
+        }
+        return full;
+    }
+
+    private static void addDelta(Map<UUID, EventAttendeeCounter> deltas, Entry entry, Attendance previous) {
+        EventAttendeeCounter delta = deltas.computeIfAbsent(entry.eventId(), EventAttendeeCounter::new);
+        if (previous != null) {
+            delta.increment(previous.getStatus(), -1);
+        }
+        delta.increment(entry.status(), 1);
+    }
+
+    private record Key(UUID eventId, UUID userId) {
+
+        static Key of(Entry entry) {
+            return new Key(entry.eventId(), entry.userId());
+        }
+    }
+}
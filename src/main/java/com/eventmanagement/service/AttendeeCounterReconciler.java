@@ -0,0 +1,65 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Background job comparing the stored attendee counters with the attendances table
+ * and repairing the events whose counters drifted
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.attendance.counters.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class AttendeeCounterReconciler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final AttendeeCounterService counterService;
+
+    @Scheduled(initialDelayString = "${app.attendance.counters.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${app.attendance.counters.reconcile.interval:PT15M}")
+    public void reconcile() {
+        Pageable pageable = PageRequest.of(0, BATCH_SIZE, Sort.by("id"));
+        int checked = 0;
+        int repaired = 0;
+
+        Slice<UUID> eventIds;
+        do {
+            eventIds = eventRepository.findAllIds(pageable);
+            Map<UUID, EventAttendeeCounter> stored = counterService.getCounts(eventIds.getContent());
+            Map<UUID, EventAttendeeCounter> actual = counterService.countActual(eventIds.getContent());
+
+            for (UUID eventId : eventIds) {
+                EventAttendeeCounter counter = stored.get(eventId);
+                if (counter == null || !counter.hasSameCounts(actual.get(eventId))) {
+                    try {
+                        if (counterService.repair(eventId)) {
+                            repaired++;
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Could not repair attendee counters for event {}: {}", eventId, e.getMessage());
+                    }
+                }
+            }
+
+            checked += eventIds.getNumberOfElements();
+            pageable = eventIds.nextPageable();
+        } while (eventIds.hasNext());
+
+        log.info("Attendee counter reconciliation checked {} events, repaired {}", checked, repaired);
+    }
+}
@@ -0,0 +1,253 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.exception.ConflictException;
+import com.eventmanagement.repository.AttendanceRepository;
+import com.eventmanagement.repository.EventAttendeeCounterRepository;
+import com.eventmanagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendeeCounterService {
+
+    private final EventAttendeeCounterRepository counterRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create the zeroed counters for a new event, with its seat limit
+     */
+    @Transactional
+    public EventAttendeeCounter initialize(UUID eventId, Integer capacity) {
+        EventAttendeeCounter counter = new EventAttendeeCounter(eventId);
+        counter.setCapacity(capacity);
+        return counterRepository.save(counter);
+    }
+
+    /**
+     * Create the zeroed counters for a batch of new events with one JDBC batch of inserts
+     */
+    @Transactional
+    public void initializeAll(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO event_attendee_counters (event_id, going_count, maybe_count, declined_count, capacity) " +
+                        "VALUES (?, 0, 0, 0, ?)",
+                events, events.size(), (statement, event) -> {
+                    statement.setObject(1, event.getId());
+                    statement.setObject(2, event.getCapacity(), Types.INTEGER);
+                });
+    }
+
+    /**
+     * Change the seat limit of an event. The update is conditional on the counter row, so it
+     * cannot interleave with responses taking a seat.
+     */
+    @Transactional
+    public void updateCapacity(UUID eventId, Integer capacity) {
+        if (counterRepository.updateCapacity(eventId, capacity) > 0) {
+            return;
+        }
+        if (counterRepository.existsById(eventId)) {
+            throw new RuntimeException("Capacity can not be lower than the number of attendees going");
+        }
+
+        // Events created before counters existed get their row from a full recount
+        EventAttendeeCounter counter = recount(eventId);
+        if (capacity != null && counter.getGoingCount() > capacity) {
+            throw new RuntimeException("Capacity can not be lower than the number of attendees going");
+        }
+        counter.setCapacity(capacity);
+        counterRepository.save(counter);
+    }
+
+    /**
+     * Move one response from the previous status (null for a new response) to the current one.
+     * Moving to GOING takes a seat in the same conditional update, a full event is a conflict.
+     */
+    @Transactional
+    public void recordResponse(UUID eventId, AttendanceStatus previous, AttendanceStatus current) {
+        if (previous == current) {
+            return;
+        }
+
+        EventAttendeeCounter delta = new EventAttendeeCounter(eventId);
+        if (previous != null) {
+            delta.increment(previous, -1);
+        }
+        delta.increment(current, 1);
+
+        int updated = counterRepository.applyDelta(eventId,
+                delta.getGoingCount(), delta.getMaybeCount(), delta.getDeclinedCount());
+
+        if (updated == 0) {
+            if (delta.getGoingCount() > 0 && counterRepository.existsById(eventId)) {
+                throw new ConflictException("Event is full");
+            }
+            // Events created before counters existed get their row from a full recount
+            EventAttendeeCounter counter = rebuild(eventId);
+            if (delta.getGoingCount() > 0 && isOverCapacity(counter)) {
+                throw new ConflictException("Event is full");
+            }
+            counterRepository.save(counter);
+        }
+    }
+
+    /**
+     * Apply per event deltas of a batch of responses with one JDBC batch of updates. Called before
+     * the responses are written, deltas that would take the event over its capacity are not applied
+     * and their events are returned.
+     */
+    @Transactional
+    public Set<UUID> recordResponses(Collection<EventAttendeeCounter> deltas) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+
+        List<EventAttendeeCounter> batch = new ArrayList<>(deltas);
+        int[][] updated = jdbcTemplate.batchUpdate(
+                "UPDATE event_attendee_counters SET going_count = going_count + ?, " +
+                        "maybe_count = maybe_count + ?, declined_count = declined_count + ? " +
+                        "WHERE event_id = ? AND (capacity IS NULL OR going_count + ? <= capacity)",
+                batch, batch.size(), (statement, delta) -> {
+                    statement.setLong(1, delta.getGoingCount());
+                    statement.setLong(2, delta.getMaybeCount());
+                    statement.setLong(3, delta.getDeclinedCount());
+                    statement.setObject(4, delta.getEventId());
+                    statement.setLong(5, delta.getGoingCount());
+                });
+
+        Set<UUID> full = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (updated[0][i] == 0) {
+                EventAttendeeCounter delta = batch.get(i);
+                UUID eventId = delta.getEventId();
+                if (delta.getGoingCount() > 0 && counterRepository.existsById(eventId)) {
+                    full.add(eventId);
+                    continue;
+                }
+                // Events created before counters existed get their row from a full recount, which
+                // does not see the batch yet, so its delta is added on top
+                EventAttendeeCounter counter = rebuild(eventId);
+                counter.increment(AttendanceStatus.GOING, delta.getGoingCount());
+                counter.increment(AttendanceStatus.MAYBE, delta.getMaybeCount());
+                counter.increment(AttendanceStatus.DECLINED, delta.getDeclinedCount());
+                if (delta.getGoingCount() > 0 && isOverCapacity(counter)) {
+                    full.add(eventId);
+                    continue;
+                }
+                counterRepository.save(counter);
+            }
+        }
+        return full;
+    }
+
+    /**
+     * Get the counters of one event
+     */
+    @Transactional(readOnly = true)
+    public EventAttendeeCounter getCounts(UUID eventId) {
+        return counterRepository.findById(eventId)
+                .orElseGet(() -> new EventAttendeeCounter(eventId));
+    }
+
+    /**
+     * Get the counters of a batch of events with one IN lookup
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, EventAttendeeCounter> getCounts(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return counterRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventAttendeeCounter::getEventId, Function.identity()));
+    }
+
+    /**
+     * Remove the counters of a deleted event
+     */
+    @Transactional
+    public void delete(UUID eventId) {
+        counterRepository.deleteById(eventId);
+    }
+
+    /**
+     * Recount the responses of one event and overwrite its counters when they drifted.
+     * The counter row is locked first, so responses still in flight either committed
+     * before the recount or apply their delta after it.
+     */
+    @Transactional
+    public boolean repair(UUID eventId) {
+        Optional<EventAttendeeCounter> stored = counterRepository.findForUpdate(eventId);
+        EventAttendeeCounter actual = recount(eventId);
+
+        if (stored.isPresent() && stored.get().hasSameCounts(actual)) {
+            return false;
+        }
+
+        EventAttendeeCounter counter = stored.orElseGet(() -> rebuild(eventId));
+        actual.setCapacity(counter.getCapacity());
+
+        log.warn("Repairing attendee counters for event {}: stored {}/{}/{}, actual {}/{}/{}", eventId,
+                counter.getGoingCount(), counter.getMaybeCount(), counter.getDeclinedCount(),
+                actual.getGoingCount(), actual.getMaybeCount(), actual.getDeclinedCount());
+
+        counterRepository.save(actual);
+        return true;
+    }
+
+    /**
+     * Count the actual responses of a batch of events from the attendances table
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, EventAttendeeCounter> countActual(Collection<UUID> eventIds) {
+        Map<UUID, EventAttendeeCounter> counters = new HashMap<>();
+        eventIds.forEach(eventId -> counters.put(eventId, new EventAttendeeCounter(eventId)));
+
+        attendanceRepository.countByEventIdsGroupedByStatus(eventIds).forEach(count ->
+                counters.get(count.getEventId()).increment(count.getStatus(), count.getResponseCount()));
+
+        return counters;
+    }
+
+    private EventAttendeeCounter recount(UUID eventId) {
+        return countActual(List.of(eventId)).get(eventId);
+    }
+
+    // A recounted row for an event without one, with the seat limit stored on the event
+    private EventAttendeeCounter rebuild(UUID eventId) {
+        EventAttendeeCounter counter = recount(eventId);
+        counter.setCapacity(eventRepository.findById(eventId).map(Event::getCapacity).orElse(null));
+        return counter;
+    }
+
+    private boolean isOverCapacity(EventAttendeeCounter counter) {
+        return counter.getCapacity() != null && counter.getGoingCount() > counter.getCapacity();
+    }
+}
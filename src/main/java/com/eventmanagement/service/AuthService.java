@@ -1,21 +1,27 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.dto.auth.ChangePasswordRequest;
 import com.eventmanagement.dto.auth.LoginRequest;
 import com.eventmanagement.dto.auth.RegisterRequest;
+import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.User;
 import com.eventmanagement.mapper.AuthMapper;
 import com.eventmanagement.repository.UserRepository;
 import com.eventmanagement.security.CustomUserDetails;
 import com.eventmanagement.security.JwtUtil;
+import com.eventmanagement.security.TokenRevocationChecker;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -26,11 +32,12 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final AuthMapper authMapper;
+    private final UserDirectory userDirectory;
+    private final TokenRevocationChecker tokenRevocationChecker;
 
     /**
      *Handle User Registration
      */
-    @CacheEvict(value = "users", key = "#result.user.id")
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email is already registered");
@@ -44,6 +51,7 @@ public class AuthService {
         );
 
         User savedUser = userRepository.save(user);
+        userDirectory.userChanged(savedUser.getId(), savedUser.getEmail());
         CustomUserDetails userDetails = new CustomUserDetails(savedUser);
         String token = jwtUtil.generateToken(userDetails);
 
@@ -70,6 +78,55 @@ public class AuthService {
         return createAuthResponse(token, user);
     }
 
+    /**
+     * Change the password of the current user. Every token issued before is revoked, the
+     * response carries a new one.
+     */
+    @Transactional
+    public AuthResponse changePassword(ChangePasswordRequest request) {
+        User user = userRepository.findById(getCurrentUserId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            throw new RuntimeException("Current password does not match");
+        }
+
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userRepository.save(user);
+        tokenRevocationChecker.revokeTokens(user.getId());
+        userDirectory.userChanged(user.getId(), user.getEmail());
+
+        // The bulk update bypassed the loaded entity, read the bumped version back
+        long tokenVersion = userRepository.findTokenVersionById(user.getId()).orElseThrow();
+        String token = jwtUtil.generateToken(new CustomUserDetails(
+                user.getId(), user.getName(), user.getEmail(), user.getRole(), tokenVersion));
+
+        return createAuthResponse(token, user);
+    }
+
+    /**
+     * Change the role of a user, tokens carrying the old role are revoked
+     */
+    @Transactional
+    public AuthResponse.UserInfo changeRole(UUID userId, Role role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getRole() == role) {
+            return authMapper.toUserInfo(user);
+        }
+
+        user.setRole(role);
+        userRepository.save(user);
+        tokenRevocationChecker.revokeTokens(userId);
+        userDirectory.userChanged(userId, user.getEmail());
+
+        return authMapper.toUserInfo(user);
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return userDetails.getId();
+    }
 
     private AuthResponse createAuthResponse(String token, User user) {
         AuthResponse.UserInfo userInfo = authMapper.toUserInfo(user);
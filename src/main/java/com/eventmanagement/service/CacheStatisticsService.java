@@ -0,0 +1,56 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.admin.CacheStatisticsResponse;
+import com.eventmanagement.dto.admin.RegionCacheStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the Hibernate cache statistics, counts are per node and start at zero on startup
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Totals of the second-level cache and the query cache, plus the counts of every region
+     */
+    public CacheStatisticsResponse getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<RegionCacheStatistics> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics counts = statistics.getCacheRegionStatistics(region);
+                    return counts != null
+                            ? toStatistics(region, counts.getHitCount(), counts.getMissCount(), counts.getPutCount())
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CacheStatisticsResponse(
+                statistics.isStatisticsEnabled(),
+                toStatistics("second-level", statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()),
+                toStatistics("query", statistics.getQueryCacheHitCount(),
+                        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()),
+                regions);
+    }
+
+    private RegionCacheStatistics toStatistics(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        Double hitRatio = lookups > 0 ? (double) hits / lookups : null;
+        return new RegionCacheStatistics(region, hits, misses, puts, hitRatio);
+    }
+}
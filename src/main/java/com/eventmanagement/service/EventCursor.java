@@ -0,0 +1,41 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor, the (startTime, id) of the last event of a page
+ */
+record EventCursor(LocalDateTime startTime, UUID id) {
+
+    static EventCursor of(Event event) {
+        return new EventCursor(event.getStartTime(), event.getId());
+    }
+
+    /**
+     * Decode a cursor, null or blank means the first page
+     */
+    static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            LocalDateTime startTime = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+            return new EventCursor(startTime, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String value = startTime.toEpochSecond(ZoneOffset.UTC) + ":" + startTime.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,293 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.dto.event.CreateEventRequest;
+import com.eventmanagement.dto.event.EventImportError;
+import com.eventmanagement.dto.event.EventImportResponse;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.mapper.EventMapper;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.security.CustomUserDetails;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports events from an NDJSON or CSV body. Rows are read and validated one at a time,
+ * valid rows are written in chunks of batched inserts with a transaction per chunk, and
+ * the caches are invalidated once at the end. Rejected rows are skipped and reported by
+ * line number.
+ */
+@Slf4j
+@Service
+public class EventImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final EventRepository eventRepository;
+    private final AttendeeCounterService attendeeCounterService;
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final EventMapper eventMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public EventImportService(EventRepository eventRepository,
+                              AttendeeCounterService attendeeCounterService,
+                              EventCacheInvalidator eventCacheInvalidator,
+                              EventMapper eventMapper,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.events.import.chunk-size:1000}") int chunkSize) {
+        this.eventRepository = eventRepository;
+        this.attendeeCounterService = attendeeCounterService;
+        this.eventCacheInvalidator = eventCacheInvalidator;
+        this.eventMapper = eventMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import the events of the body, hosted by the current user
+     */
+    public EventImportResponse importEvents(InputStream body, Format format) {
+        UUID hostId = getCurrentUserId();
+        Report report = new Report();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Function<String, CreateEventRequest> parser;
+            long lineNumber = 0;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new RuntimeException("CSV import needs a header row");
+                }
+                parser = csvParser(header);
+            } else {
+                parser = this::parseJson;
+            }
+
+            List<Event> chunk = new ArrayList<>(chunkSize);
+            long chunkStart = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    chunk.add(toEvent(parser.apply(line), hostId));
+                } catch (RuntimeException e) {
+                    report.reject(lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, chunkStart, lineNumber, report);
+                    chunk = new ArrayList<>(chunkSize);
+                    chunkStart = lineNumber + 1;
+                }
+            }
+            writeChunk(chunk, chunkStart, lineNumber, report);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the import: " + e.getMessage());
+        }
+
+        if (report.imported > 0) {
+            eventCacheInvalidator.eventsImported();
+        }
+        log.info("User {} imported {} events, {} rows rejected", hostId, report.imported, report.failed);
+
+        return new EventImportResponse(report.imported, report.failed, report.errors);
+    }
+
+    private void writeChunk(List<Event> chunk, long firstLine, long lastLine, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Event> saved = eventRepository.saveAll(chunk);
+                attendeeCounterService.initializeAll(saved);
+            });
+            report.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Could not import lines {} to {}: {}", firstLine, lastLine, e.getMessage());
+            report.failed += chunk.size();
+            report.addError(firstLine, "Lines " + firstLine + " to " + lastLine + " were not imported");
+        }
+    }
+
+    private Event toEvent(CreateEventRequest request, UUID hostId) {
+        List<String> violations = validator.validate(request).stream()
+                .map(this::describe)
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(String.join(", ", violations));
+        }
+        if (request.getEndTime().isBefore(request.getStartTime())) {
+            throw new RuntimeException("ENd time should be after the start time");
+        }
+
+        Event event = eventMapper.toEntity(request); // Using MapStruct
+        event.setHostId(hostId);
+        return event;
+    }
+
+    private String describe(ConstraintViolation<CreateEventRequest> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    private CreateEventRequest parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateEventRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Parser for rows under the given header, columns are matched by name in any order
+     */
+    private Function<String, CreateEventRequest> csvParser(String header) {
+        List<String> columns = splitCsv(header).stream()
+                .map(String::trim)
+                .toList();
+        Map<String, Integer> positions = columns.stream()
+                .collect(Collectors.toMap(Function.identity(), columns::indexOf, (first, second) -> first));
+
+        return line -> {
+            List<String> values = splitCsv(line);
+            Map<String, String> row = new HashMap<>();
+            positions.forEach((column, position) ->
+                    row.put(column, position < values.size() && !values.get(position).isEmpty()
+                            ? values.get(position)
+                            : null));
+
+            CreateEventRequest request = new CreateEventRequest();
+            request.setTitle(row.get("title"));
+            request.setDescription(row.get("description"));
+            request.setStartTime(parseTime(row.get("startTime"), "startTime"));
+            request.setEndTime(parseTime(row.get("endTime"), "endTime"));
+            request.setLocation(row.get("location"));
+            if (row.get("capacity") != null) {
+                try {
+                    request.setCapacity(Integer.valueOf(row.get("capacity").trim()));
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("capacity must be a whole number");
+                }
+            }
+            if (row.get("visibility") != null) {
+                try {
+                    request.setVisibility(Visibility.valueOf(row.get("visibility").trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("visibility must be PUBLIC or PRIVATE");
+                }
+            }
+            return request;
+        };
+    }
+
+    private LocalDateTime parseTime(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (RuntimeException e) {
+            throw new RuntimeException(column + " must be an ISO date time");
+        }
+    }
+
+    // Split one CSV line, fields may be quoted and quotes inside them are doubled
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Get the current user's ID from the security context
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return userDetails.getId();
+    }
+
+    private static final class Report {
+
+        private long imported;
+        private long failed;
+        private final List<EventImportError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            addError(line, message);
+        }
+
+        void addError(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EventImportError(line, message));
+            }
+        }
+    }
+}
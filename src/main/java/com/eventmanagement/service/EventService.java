@@ -1,48 +1,84 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.cache.EventTotals;
+import com.eventmanagement.cache.UpcomingEventIndex;
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.event.CreateEventRequest;
 import com.eventmanagement.dto.event.EventResponse;
 import com.eventmanagement.dto.event.UpdateEventRequest;
+import com.eventmanagement.dto.page.CursorPage;
+import com.eventmanagement.dto.page.SliceResponse;
+import com.eventmanagement.dto.user.UserSummary;
+import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Event;
-import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.EventAttendeeCounter;
 import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.exception.ConflictException;
+import com.eventmanagement.exception.PreconditionFailedException;
 import com.eventmanagement.mapper.EventMapper;
-import com.eventmanagement.repository.AttendanceRepository;
 import com.eventmanagement.repository.EventRepository;
-import com.eventmanagement.repository.UserRepository;
 import com.eventmanagement.security.CustomUserDetails;
+import com.eventmanagement.transaction.PrimaryReads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final String UNKNOWN_HOST = "Unknown Host";
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String EVENTS_CACHE = "events";
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
-    private final AttendanceRepository attendanceRepository;
+    private final UserDirectory userDirectory;
+    private final AttendeeCounterService attendeeCounterService;
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final EventTotals eventTotals;
+    private final UpcomingEventIndex upcomingEventIndex;
+    private final CacheManager cacheManager;
     private final EventMapper eventMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     /**
      * Create new event
      */
     @Transactional
-    @CacheEvict(value = {"upcomingEvents", "userEvents"}, allEntries = true)
     public EventResponse createAnEvent(CreateEventRequest request) {
         UUID currentUserId = getCurrentUserId();
 
@@ -54,17 +90,19 @@ public class EventService {
         event.setHostId(currentUserId);
 
         Event savedEvent = eventRepository.save(event);
+        EventAttendeeCounter counter = attendeeCounterService.initialize(savedEvent.getId(), savedEvent.getCapacity());
+        eventCacheInvalidator.eventCreated(savedEvent);
         log.info("Event created: {} by user: {}", savedEvent.getId(), currentUserId);
 
-        return mapToEventResponse(savedEvent);
+        return eventMapper.toResponse(savedEvent, getHostName(savedEvent), counter);
     }
 
     /**
-     * Update Event
+     * Update Event. With an expected version the update is rejected once the event has moved past
+     * it, the version column catches an update committed in between without locking the row.
      */
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "userEvents"}, allEntries = true)
-    public EventResponse updateAnEvent(UUID eventId, UpdateEventRequest request) {
+    public EventResponse updateAnEvent(UUID eventId, UpdateEventRequest request, Long expectedVersion) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event has not been found"));
 
@@ -73,14 +111,31 @@ public class EventService {
         if (!event.getHostId().equals(currentUserId) && !isCurrentUserAdmin()) {
             throw new RuntimeException("Access denied");
         }
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PreconditionFailedException("Event has been changed since it was read");
+        }
 
+        Long previousPosition = eventCacheInvalidator.upcomingPosition(event);
+        Integer previousCapacity = event.getCapacity();
         eventMapper.updateEntityFromRequest(request, event); // Using MapStruct
 
         if (event.getEndTime().isBefore(event.getStartTime())) {
             throw new RuntimeException("ENd time should be after the start time");
         }
 
-        Event updatedEvent = eventRepository.save(event);
+        // Flushed here so the response carries the new version
+        Event updatedEvent;
+        try {
+            updatedEvent = eventRepository.saveAndFlush(event);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw expectedVersion != null
+                    ? new PreconditionFailedException("Event has been changed since it was read")
+                    : new ConflictException("Event has been changed by a concurrent update, please retry");
+        }
+        if (!Objects.equals(previousCapacity, updatedEvent.getCapacity())) {
+            attendeeCounterService.updateCapacity(eventId, updatedEvent.getCapacity());
+        }
+        eventCacheInvalidator.eventUpdated(updatedEvent, previousPosition);
         log.info("Event updated: {} by user: {}", eventId, currentUserId);
 
         return mapToEventResponse(updatedEvent);
@@ -90,7 +145,6 @@ public class EventService {
      * Delete Event
      */
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "userEvents"}, allEntries = true)
     public void deleteAnEvent(UUID eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event has not been found"));
@@ -102,79 +156,320 @@ public class EventService {
             throw new RuntimeException("Access denied");
         }
 
+        eventCacheInvalidator.eventDeleted(event);
         eventRepository.delete(event);
+        attendeeCounterService.delete(eventId);
         log.info("Event deleted: {} by user: {}", eventId, currentUserId);
     }
 
     /**
-     * Get Event by id
+     * Get Event by id, read from the primary since the result is cached
      */
     @Cacheable(value = "events", key = "#eventId.toString()")
+    @Transactional(readOnly = true)
     public EventResponse getAnEvent(UUID eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event has not been found"));
+        return PrimaryReads.call(() -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event has not been found"));
 
-        return mapToEventResponse(event);
+            return mapToEventResponse(event);
+        });
     }
 
     /**
      * List events
      */
+    @Transactional(readOnly = true)
     public Page<EventResponse> getEventsWithFilter(Visibility visibility, String location,
                                                     LocalDateTime startDate, LocalDateTime endDate,
                                                     Pageable pageable) {
         Page<Event> events = eventRepository.findEventsByCriteria(
                 visibility, location, startDate, endDate, pageable);
 
-        return events.map(this::mapToEventResponse);
+        return mapToEventResponses(events);
+    }
+
+    /**
+     * Search events by title, description and location, best matches first
+     */
+    @Transactional(readOnly = true)
+    public Page<EventResponse> searchEvents(String query, Visibility visibility, String location,
+                                            LocalDateTime startDate, LocalDateTime endDate,
+                                            Pageable pageable) {
+        Page<Event> events = eventRepository.searchEvents(
+                query, visibility, location, startDate, endDate, pageable);
+
+        return mapToEventResponses(events);
+    }
+
+    /**
+     * List events without a count query, with an approximate total when asked for
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<EventResponse> getEventsWithFilter(Visibility visibility, String location,
+                                                             LocalDateTime startDate, LocalDateTime endDate,
+                                                             Pageable pageable, boolean includeTotal) {
+        Slice<Event> events = eventRepository.findEventsByCriteriaSlice(
+                visibility, location, startDate, endDate, pageable);
+        Long total = includeTotal ? eventTotals.byCriteria(visibility, location, startDate, endDate) : null;
+
+        return toSliceResponse(events, total);
+    }
+
+    /**
+     * List events with keyset pagination, ordered by start time
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEventsWithFilter(Visibility visibility, String location,
+                                                          LocalDateTime startDate, LocalDateTime endDate,
+                                                          String cursor, int size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
+        List<Event> events = eventRepository.findEventsByCriteriaAfter(
+                visibility, location, startDate, endDate,
+                after != null ? after.startTime() : null,
+                after != null ? after.id() : null,
+                Limit.of(pageSize + 1));
+
+        return toCursorPage(events, pageSize);
+    }
+
+    /**
+     * List upcoming events with keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getUpcomingEvents(String cursor, int size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
+        List<Event> events = eventRepository.findUpcomingEventsAfter(
+                LocalDateTime.now(),
+                after != null ? after.startTime() : null,
+                after != null ? after.id() : null,
+                Limit.of(pageSize + 1));
+
+        return toCursorPage(events, pageSize);
     }
 
     /**
-     * List upcoming events
+     * List upcoming events, served from the in-memory upcoming index once it is loaded.
+     * Read from the primary, the pages and the events on them are cached.
      */
-    @Cacheable(value = "upcomingEvents", key = "'page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize")
+    @Cacheable(value = "upcomingEvents", key = "@upcomingPageKeys.key(#pageable)",
+            condition = "@upcomingPageKeys.isCacheable(#pageable) and !@upcomingEventIndex.serves(#pageable)")
+    @Transactional(readOnly = true)
     public Page<EventResponse> getUpcomingEvents(Pageable pageable) {
-        Page<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now(), pageable);
-        return events.map(this::mapToEventResponse);
+        return PrimaryReads.call(() -> {
+            if (upcomingEventIndex.serves(pageable)) {
+                UpcomingEventIndex.Window window = upcomingEventIndex.page(
+                        LocalDateTime.now(), pageable.getOffset(), pageable.getPageSize());
+                return new PageImpl<>(findEventResponses(window.eventIds()), pageable, window.total());
+            }
+
+            Page<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now(), pageable);
+            return mapToEventResponses(events);
+        });
+    }
+
+    /**
+     * List upcoming events without a count query, with an approximate total when asked for
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<EventResponse> getUpcomingEvents(Pageable pageable, boolean includeTotal) {
+        Slice<Event> events = eventRepository.findUpcomingEventsSlice(LocalDateTime.now(), pageable);
+        Long total = includeTotal ? eventTotals.upcoming() : null;
+
+        return toSliceResponse(events, total);
+    }
+
+    /**
+     * Write every event matching the filters as NDJSON, in start time order
+     */
+    @Transactional(readOnly = true)
+    public void streamEventsWithFilter(Visibility visibility, String location,
+                                       LocalDateTime startDate, LocalDateTime endDate,
+                                       OutputStream out) {
+        try (Stream<Event> events = eventRepository.streamEventsByCriteria(visibility, location, startDate, endDate)) {
+            writeNdjson(events, out);
+        }
+    }
+
+    /**
+     * Write every event hosted by the user as NDJSON, in start time order
+     */
+    @Transactional(readOnly = true)
+    public void streamEventsHostedByUser(OutputStream out) {
+        UUID currentUserId = getCurrentUserId();
+        try (Stream<Event> events = eventRepository.streamByHostId(currentUserId)) {
+            writeNdjson(events, out);
+        }
     }
 
     /**
      * List hosted events by user
      */
+    @Transactional(readOnly = true)
     public Page<EventResponse> getEventsHostedByUser(Pageable pageable) {
         UUID currentUserId = getCurrentUserId();
         Page<Event> events = eventRepository.findByHostId(currentUserId, pageable);
-        return events.map(this::mapToEventResponse);
+        return mapToEventResponses(events);
     }
 
     /**
-     * List events user is attending
+     * List hosted events by user without a count query, with an approximate total when asked for
      */
-    public List<EventResponse> getEventsUserIsAttending() {
+    @Transactional(readOnly = true)
+    public SliceResponse<EventResponse> getEventsHostedByUser(Pageable pageable, boolean includeTotal) {
         UUID currentUserId = getCurrentUserId();
-        List<UUID> eventIds = attendanceRepository.findEventIdsByUserId(currentUserId);
+        Slice<Event> events = eventRepository.findSliceByHostId(currentUserId, pageable);
+        Long total = includeTotal ? eventTotals.hostedBy(currentUserId) : null;
 
-        List<Event> events = eventIds.stream()
-                .map(eventId -> eventRepository.findById(eventId).orElse(null))
-                .filter(Objects::nonNull)
-                .toList();
+        return toSliceResponse(events, total);
+    }
 
-        return events.stream()
-                .map(this::mapToEventResponse)
-                .collect(Collectors.toList());
+    /**
+     * List events user is attending, GOING and MAYBE responses unless a status is given
+     */
+    @Transactional(readOnly = true)
+    public Page<EventResponse> getEventsUserIsAttending(AttendanceStatus status, boolean upcomingOnly,
+                                                        Pageable pageable) {
+        UUID currentUserId = getCurrentUserId();
+        List<AttendanceStatus> statuses = status != null
+                ? List.of(status)
+                : List.of(AttendanceStatus.GOING, AttendanceStatus.MAYBE);
+        LocalDateTime after = upcomingOnly ? LocalDateTime.now() : null;
+
+        Page<Event> events = eventRepository.findEventsAttendedByUser(currentUserId, statuses, after, pageable);
+        return mapToEventResponses(events);
     }
 
     /**
      * Map event entity to event response DTO
      */
     private EventResponse mapToEventResponse(Event event) {
-        long attendeeCount = attendanceRepository.countByEventId(event.getId());
+        EventAttendeeCounter counter = attendeeCounterService.getCounts(event.getId());
+
+        return eventMapper.toResponse(event, getHostName(event), counter); // Using MapStruct
+    }
+
+    private String getHostName(Event event) {
+        return userDirectory.findById(event.getHostId())
+                .map(UserSummary::getName)
+                .orElse(UNKNOWN_HOST);
+    }
+
+    /**
+     * Map a page of events, resolving host names and attendee counters for the whole page
+     * with one batched lookup each instead of two queries per event
+     */
+    private Page<EventResponse> mapToEventResponses(Page<Event> events) {
+        List<EventResponse> content = mapToEventResponses(events.getContent());
+        return new PageImpl<>(content, events.getPageable(), events.getTotalElements());
+    }
+
+    private List<EventResponse> mapToEventResponses(List<Event> events) {
+        Map<UUID, EventAttendeeCounter> counters = attendeeCounterService.getCounts(
+                events.stream().map(Event::getId).collect(Collectors.toSet()));
+        Map<UUID, String> hostNames = findHostNames(events);
+
+        return events.stream()
+                .map(event -> eventMapper.toResponse(
+                        event,
+                        hostNames.getOrDefault(event.getHostId(), UNKNOWN_HOST),
+                        counters.getOrDefault(event.getId(), new EventAttendeeCounter(event.getId()))))
+                .toList();
+    }
 
-        String hostName = userRepository.findById(event.getHostId())
-                .map(User::getName)
-                .orElse("Unknown Host");
+    /**
+     * Responses for the given events in the same order, taken from the events cache where present
+     * and loaded in one batch otherwise. Events deleted in the meantime are left out.
+     */
+    private List<EventResponse> findEventResponses(List<UUID> eventIds) {
+        Cache cache = cacheManager.getCache(EVENTS_CACHE);
+        Map<UUID, EventResponse> responses = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            EventResponse cached = cache != null ? cache.get(eventId.toString(), EventResponse.class) : null;
+            if (cached != null) {
+                responses.put(eventId, cached);
+            } else {
+                missing.add(eventId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (EventResponse response : mapToEventResponses(eventRepository.findAllById(missing))) {
+                responses.put(UUID.fromString(response.getId()), response);
+                if (cache != null) {
+                    cache.put(response.getId(), response);
+                }
+            }
+        }
+
+        return eventIds.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Map the streamed events in batches, so host names and counters stay batched, and write one
+     * response per line. The persistence context is cleared after every batch to keep memory flat.
+     */
+    private void writeNdjson(Stream<Event> events, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(EventResponse.class);
+        List<Event> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        Iterator<Event> iterator = events.iterator();
+
+        try {
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() < STREAM_BATCH_SIZE && iterator.hasNext()) {
+                    continue;
+                }
+
+                for (EventResponse response : mapToEventResponses(batch)) {
+                    out.write(writer.writeValueAsBytes(response));
+                    out.write('\n');
+                }
+                out.flush();
+                batch.clear();
+                entityManager.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the event stream", e);
+        }
+    }
+
+    private SliceResponse<EventResponse> toSliceResponse(Slice<Event> events, Long total) {
+        return new SliceResponse<>(mapToEventResponses(events.getContent()),
+                events.getNumber(), events.getSize(), events.hasNext(), total);
+    }
+
+    /**
+     * Build a cursor page from a size + 1 fetch, the extra row only tells whether a next page exists
+     */
+    private CursorPage<EventResponse> toCursorPage(List<Event> events, int pageSize) {
+        boolean hasNext = events.size() > pageSize;
+        List<Event> page = hasNext ? events.subList(0, pageSize) : events;
+        String nextCursor = hasNext ? EventCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new CursorPage<>(mapToEventResponses(page), pageSize, hasNext, nextCursor);
+    }
+
+    private int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private Map<UUID, String> findHostNames(List<Event> events) {
+        Set<UUID> hostIds = events.stream()
+                .map(Event::getHostId)
+                .collect(Collectors.toSet());
+
+        if (hostIds.isEmpty()) {
+            return Map.of();
+        }
 
-        return eventMapper.toResponse(event, hostName, attendeeCount); // Using MapStruct
+        return userDirectory.findNames(hostIds);
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.eventmanagement.transaction;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads whose results go into a shared cache. Connections fetched inside {@link #call}
+ * come from the primary even for read-only transactions: a lagging replica read right after an
+ * eviction would otherwise put the evicted rows back for a full TTL.
+ * <p>
+ * The routing happens when a transaction fetches its connection, so the read has to be the
+ * first statement of its transaction, or start a transaction of its own.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Run a read that fills a cache against the primary
+     */
+    public static <T> T call(Supplier<T> read) {
+        DEPTH.set(DEPTH.get() + 1);
+        try {
+            return read.get();
+        } finally {
+            int depth = DEPTH.get() - 1;
+            if (depth == 0) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    /**
+     * Whether the current thread is inside {@link #call}
+     */
+    public static boolean isActive() {
+        return DEPTH.get() > 0;
+    }
+}
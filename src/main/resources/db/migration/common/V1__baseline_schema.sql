@@ -0,0 +1,46 @@
+-- Schema as previously generated by ddl-auto=update, existing databases are baselined at this version
+
+CREATE TABLE users (
+    id            UUID         NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(60)  NOT NULL,
+    role          VARCHAR(255) NOT NULL,
+    token_version BIGINT       DEFAULT 0 NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE events (
+    id          UUID          NOT NULL,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    host_id     UUID          NOT NULL,
+    start_time  TIMESTAMP(6)  NOT NULL,
+    end_time    TIMESTAMP(6)  NOT NULL,
+    location    VARCHAR(255)  NOT NULL,
+    visibility  VARCHAR(255)  NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_events PRIMARY KEY (id)
+);
+
+CREATE TABLE attendances (
+    id           UUID         NOT NULL,
+    event_id     UUID         NOT NULL,
+    user_id      UUID         NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    responded_at TIMESTAMP(6),
+    CONSTRAINT pk_attendances PRIMARY KEY (id),
+    CONSTRAINT uk_attendances_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE TABLE event_attendee_counters (
+    event_id       UUID   NOT NULL,
+    going_count    BIGINT NOT NULL,
+    maybe_count    BIGINT NOT NULL,
+    declined_count BIGINT NOT NULL,
+    CONSTRAINT pk_event_attendee_counters PRIMARY KEY (event_id)
+);
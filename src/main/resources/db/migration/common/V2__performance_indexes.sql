@@ -0,0 +1,14 @@
+-- Upcoming listing, keyset cursors and upcoming position counts: start_time range ordered by (start_time, id)
+CREATE INDEX idx_events_start_time_id ON events (start_time, id);
+
+-- Hosted events listing and counts
+CREATE INDEX idx_events_host_id_start_time ON events (host_id, start_time);
+
+-- Listing filtered by visibility, ordered by start time
+CREATE INDEX idx_events_visibility_start_time ON events (visibility, start_time);
+
+-- Events a user is attending: user + status lookup, event_id included for the join
+CREATE INDEX idx_attendances_user_status_event ON attendances (user_id, status, event_id);
+
+-- Lookups by (event_id, user_id) and per status counts of an event (counter recount and
+-- reconciliation) are served by the unique constraint index on (event_id, user_id)
@@ -0,0 +1,9 @@
+-- Optional seat limit of an event, no limit when null
+ALTER TABLE events ADD COLUMN capacity INTEGER;
+
+-- The limit is mirrored on the counter row, so a GOING response takes a seat with one conditional
+-- increment of the row it already updates, and the check below keeps it from ever going over
+ALTER TABLE event_attendee_counters ADD COLUMN capacity INTEGER;
+
+ALTER TABLE event_attendee_counters ADD CONSTRAINT ck_event_attendee_counters_capacity
+    CHECK (capacity IS NULL OR going_count <= capacity);
@@ -0,0 +1,2 @@
+-- Optimistic lock version of an event, bumped by every update and exposed as part of its ETag
+ALTER TABLE events ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
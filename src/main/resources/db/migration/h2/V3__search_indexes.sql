@@ -0,0 +1,2 @@
+-- H2 has no full-text or trigram indexes, search falls back to LIKE matching
+SELECT 1;
@@ -0,0 +1,11 @@
+-- Full-text and trigram indexes used by EventSearchRepository, the tsvector expression must
+-- stay identical to EventSearchRepository.SEARCH_VECTOR
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_events_search ON events USING GIN (
+    to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '') || ' ' || coalesce(location, ''))
+);
+
+CREATE INDEX idx_events_title_trgm ON events USING GIN (title gin_trgm_ops);
+
+CREATE INDEX idx_events_location_trgm ON events USING GIN (location gin_trgm_ops);
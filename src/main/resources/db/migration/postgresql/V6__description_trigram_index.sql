@@ -0,0 +1,3 @@
+-- Trigram index for the substring match on description in EventSearchRepository, the title and
+-- location ones are in V3
+CREATE INDEX idx_events_description_trgm ON events USING GIN (description gin_trgm_ops);
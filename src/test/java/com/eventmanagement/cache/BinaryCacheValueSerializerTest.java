@@ -0,0 +1,162 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.config.CacheConfig;
+import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.entity.Visibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCacheValueSerializerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryCacheValueSerializerTest.class);
+
+    private RedisSerializer<Object> jsonSerializer;
+    private BinaryCacheValueSerializer binarySerializer;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = CacheConfig.jsonValueSerializer();
+        binarySerializer = new BinaryCacheValueSerializer(jsonSerializer);
+    }
+
+    /**
+     * Test for an event surviving a binary round trip
+     */
+    @Test
+    void serialize_ShouldRoundTripEventResponse() {
+        EventResponse event = event(1);
+        event.setDescription(null);
+        event.setHostName("Zoë Müller");
+
+        Object decoded = binarySerializer.deserialize(binarySerializer.serialize(event));
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    /**
+     * Test for a page of events keeping content, paging and total
+     */
+    @Test
+    void serialize_ShouldRoundTripEventPage() {
+        Page<EventResponse> page = page(20);
+
+        Page<?> decoded = (Page<?>) binarySerializer.deserialize(binarySerializer.serialize(page));
+
+        assertThat(decoded.getContent()).isEqualTo(page.getContent());
+        assertThat(decoded.getPageable()).isEqualTo(page.getPageable());
+        assertThat(decoded.getTotalElements()).isEqualTo(page.getTotalElements());
+    }
+
+    /**
+     * Test for values without a binary layout going through JSON
+     */
+    @Test
+    void serialize_ShouldFallBackToJson_ForOtherValues() {
+        Map<String, Object> value = new HashMap<>(Map.of("name", "value"));
+
+        assertThat(binarySerializer.deserialize(binarySerializer.serialize(value))).isEqualTo(value);
+    }
+
+    /**
+     * Test for entries written with another format version being read as a miss
+     */
+    @Test
+    void deserialize_ShouldReturnNull_ForOtherFormatVersion() {
+        byte[] bytes = binarySerializer.serialize(event(1));
+        bytes[0] = BinaryCacheValueSerializer.FORMAT_VERSION + 1;
+
+        assertThat(binarySerializer.deserialize(bytes)).isNull();
+    }
+
+    /**
+     * Test for the binary codec encoding a page in less than half the bytes of JSON
+     */
+    @Test
+    void serialize_ShouldBeLessThanHalfOfJson_ForPage() {
+        Page<EventResponse> page = page(20);
+
+        int jsonPageSize = jsonSerializer.serialize(page).length;
+        int binaryPageSize = binarySerializer.serialize(page).length;
+
+        assertThat(binaryPageSize).isLessThan(jsonPageSize / 2);
+    }
+
+    /**
+     * Test for the binary codec encoding a single event in fewer bytes than JSON
+     */
+    @Test
+    void serialize_ShouldBeSmallerThanJson_ForEvent() {
+        EventResponse event = event(1);
+
+        assertThat(binarySerializer.serialize(event).length).isLessThan(jsonSerializer.serialize(event).length);
+    }
+
+    /**
+     * Benchmark of the encode and round trip times of both codecs, run with -Pbenchmark
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmark_BinaryShouldBeFasterThanJson() {
+        Page<EventResponse> page = page(20);
+        EventResponse event = event(1);
+        int iterations = 20_000;
+
+        // JSON can encode a page but not decode it back (PageImpl has no creator), so pages are timed on encode
+        long jsonPageNanos = time(() -> jsonSerializer.serialize(page), iterations);
+        long binaryPageNanos = time(() -> binarySerializer.serialize(page), iterations);
+        long jsonEventNanos = time(() -> jsonSerializer.deserialize(jsonSerializer.serialize(event)), iterations);
+        long binaryEventNanos = time(() -> binarySerializer.deserialize(binarySerializer.serialize(event)), iterations);
+
+        log.info("Page of 20 events: json {} bytes, encode {} ns; binary {} bytes, encode {} ns",
+                jsonSerializer.serialize(page).length, jsonPageNanos / iterations,
+                binarySerializer.serialize(page).length, binaryPageNanos / iterations);
+        log.info("Single event round trip: json {} ns; binary {} ns",
+                jsonEventNanos / iterations, binaryEventNanos / iterations);
+
+        assertThat(binaryPageNanos).isLessThan(jsonPageNanos);
+        assertThat(binaryEventNanos).isLessThan(jsonEventNanos);
+    }
+
+    private long time(Runnable task, int iterations) {
+        // Warm up before measuring
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Page<EventResponse> page(int size) {
+        List<EventResponse> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            content.add(event(i));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 137);
+    }
+
+    private EventResponse event(int i) {
+        LocalDateTime start = LocalDateTime.of(2026, 11, 1, 18, 30).plusDays(i);
+        return new EventResponse(UUID.randomUUID().toString(), "Event " + i, "Description of event " + i,
+                UUID.randomUUID().toString(), "Host " + i, start, start.plusHours(2), "Location " + i,
+                Visibility.PUBLIC, i % 2 == 0 ? 50 + i : null, 12, 10, 2, 3, start.minusDays(7), start.minusDays(1).withNano(123_000_000), (long) i);
+    }
+}
@@ -0,0 +1,191 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
+import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.dto.auth.RegisterRequest;
+import com.eventmanagement.dto.event.CreateEventRequest;
+import com.eventmanagement.dto.event.UpdateEventRequest;
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the read paths with the caches and the upcoming index enabled, which the test profile
+ * turns off, and checks that a cached read sees every kind of change. Not transactional: the
+ * evictions only run once the request's transaction commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "test-caching"})
+class CacheInvalidationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UpcomingEventIndex upcomingEventIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> eventIds = new ArrayList<>();
+    private String email;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        email = "cached-" + UUID.randomUUID() + "@test.com";
+        token = register(email);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String eventId : eventIds) {
+            jdbcTemplate.update("DELETE FROM attendances WHERE event_id = ?", UUID.fromString(eventId));
+            jdbcTemplate.update("DELETE FROM event_attendee_counters WHERE event_id = ?", UUID.fromString(eventId));
+            jdbcTemplate.update("DELETE FROM events WHERE id = ?", UUID.fromString(eventId));
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    /**
+     * Test for the event and the upcoming page showing an update made after they were cached
+     */
+    @Test
+    void getEvent_ShouldShowUpdate_WhenEventCachedBefore() throws Exception {
+        String eventId = createEvent(LocalDateTime.now().plusDays(3));
+        getEvent(eventId).andExpect(jsonPath("$.title").value("Cached Event"));
+        getUpcoming().andExpect(jsonPath("$.content[*].title").value(hasItem("Cached Event")));
+        assertThat(cacheManager.getCache(EventCacheInvalidator.EVENTS).get(eventId)).isNotNull();
+        assertThat(cacheManager.getCache(ResponseBytesCache.EVENT_BYTES).get(eventId)).isNotNull();
+
+        UpdateEventRequest update = new UpdateEventRequest();
+        update.setTitle("Renamed Event");
+        mockMvc.perform(put("/events/" + eventId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        getEvent(eventId).andExpect(jsonPath("$.title").value("Renamed Event"));
+        getUpcoming().andExpect(jsonPath("$.content[*].title").value(hasItem("Renamed Event")))
+                .andExpect(jsonPath("$.content[*].title").value(not(hasItem("Cached Event"))));
+    }
+
+    /**
+     * Test for the cached event counts including an RSVP made after they were cached
+     */
+    @Test
+    void getEvent_ShouldShowResponse_WhenEventCachedBefore() throws Exception {
+        String eventId = createEvent(LocalDateTime.now().plusDays(3));
+        getEvent(eventId).andExpect(jsonPath("$.goingCount").value(0));
+        assertThat(cacheManager.getCache(ResponseBytesCache.EVENT_BYTES).get(eventId)).isNotNull();
+
+        CreateAttendanceRequest request = new CreateAttendanceRequest();
+        request.setEventId(UUID.fromString(eventId));
+        request.setStatus(AttendanceStatus.GOING);
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        getEvent(eventId).andExpect(jsonPath("$.goingCount").value(1));
+    }
+
+    /**
+     * Test for an event leaving the upcoming list as soon as it starts, without any write
+     */
+    @Test
+    void getUpcomingEvents_ShouldDropEvent_WhenItStarts() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusSeconds(2);
+        String eventId = createEvent(startTime);
+        assertThat(upcomingEventIndex.serves(PageRequest.of(0, 100))).isTrue();
+        getUpcoming().andExpect(jsonPath("$.content[*].id").value(hasItem(eventId)));
+
+        while (!LocalDateTime.now().isAfter(startTime)) {
+            Thread.sleep(100);
+        }
+
+        getUpcoming().andExpect(jsonPath("$.content[*].id").value(not(hasItem(eventId))));
+    }
+
+    private ResultActions getEvent(String eventId) throws Exception {
+        return mockMvc.perform(get("/events/" + eventId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions getUpcoming() throws Exception {
+        return mockMvc.perform(get("/events/upcoming")
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private String createEvent(LocalDateTime startTime) throws Exception {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Cached Event");
+        request.setDescription("Cache invalidation test");
+        request.setStartTime(startTime);
+        request.setEndTime(startTime.plusHours(2));
+        request.setLocation("Test Location");
+
+        MvcResult result = mockMvc.perform(post("/events")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String eventId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        eventIds.add(eventId);
+        return eventId;
+    }
+
+    private String register(String email) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Cached User");
+        request.setEmail(email);
+        request.setPassword("password123");
+        request.setRole(Role.USER);
+
+        MvcResult result = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+}
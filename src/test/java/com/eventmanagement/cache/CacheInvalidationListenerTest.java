@@ -0,0 +1,82 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.repository.UserRepository;
+import jakarta.persistence.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+    @Mock
+    private Cache entityCache;
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationListener(cacheManager, entityCache, "this-node");
+    }
+
+    /**
+     * Test for dropping the email lookups of the query cache when another node changes a user
+     */
+    @Test
+    void onMessage_ShouldEvictEmailQueries_WhenUserChangedOnOtherNode() {
+        UUID userId = UUID.randomUUID();
+        when(entityCache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+
+        listener.onMessage(message("other-node|E|" + UserDirectory.USERS + "|" + userId), null);
+
+        verify(cacheManager).evictLocal(UserDirectory.USERS, userId.toString());
+        verify(entityCache).evict(User.class, userId);
+        verify(hibernateCache).evictQueryRegion(UserRepository.EMAIL_QUERY_REGION);
+    }
+
+    /**
+     * Test for leaving the query cache alone when another node changes an event
+     */
+    @Test
+    void onMessage_ShouldOnlyEvictEntity_WhenEventChangedOnOtherNode() {
+        UUID eventId = UUID.randomUUID();
+
+        listener.onMessage(message("other-node|E|" + EventCacheInvalidator.EVENTS + "|" + eventId), null);
+
+        verify(entityCache).evict(Event.class, eventId);
+        verify(entityCache, never()).unwrap(any());
+    }
+
+    /**
+     * Test for ignoring the invalidations this node published itself
+     */
+    @Test
+    void onMessage_ShouldIgnoreOwnInvalidations() {
+        listener.onMessage(message("this-node|E|" + UserDirectory.USER_EMAILS + "|user@test.com"), null);
+
+        verify(cacheManager, never()).evictLocal(any(), any());
+        verify(entityCache, never()).unwrap(any());
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventmanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedResponseSerializerTest {
+
+    private final CachedResponseSerializer serializer = new CachedResponseSerializer();
+
+    /**
+     * Test for a rendered body and its gzip encoding surviving a round trip unchanged
+     */
+    @Test
+    void serialize_ShouldRoundTripBodies() {
+        CachedResponse response = new CachedResponse("\"3-abc\"",
+                "{\"title\":\"Zoë's party\"}".getBytes(StandardCharsets.UTF_8), new byte[]{31, -117, 8, 0});
+
+        CachedResponse decoded = (CachedResponse) serializer.deserialize(serializer.serialize(response));
+
+        assertThat(decoded.eTag()).isEqualTo(response.eTag());
+        assertThat(decoded.json()).isEqualTo(response.json());
+        assertThat(decoded.gzip()).isEqualTo(response.gzip());
+        assertThat(decoded.gzipETag()).isEqualTo("\"3-abc-gzip\"");
+    }
+
+    /**
+     * Test for keeping a body that was too small to compress without a gzip encoding
+     */
+    @Test
+    void serialize_ShouldKeepMissingGzip() {
+        CachedResponse response = new CachedResponse("\"0-def\"", "{}".getBytes(StandardCharsets.UTF_8), null);
+
+        CachedResponse decoded = (CachedResponse) serializer.deserialize(serializer.serialize(response));
+
+        assertThat(decoded.json()).isEqualTo(response.json());
+        assertThat(decoded.gzip()).isNull();
+    }
+
+    /**
+     * Test for treating a value written with another format version as a miss
+     */
+    @Test
+    void deserialize_ShouldReturnNull_WhenFormatVersionDiffers() {
+        byte[] bytes = serializer.serialize(new CachedResponse("\"0-def\"", new byte[]{'{', '}'}, null));
+        bytes[0] = (byte) (CachedResponseSerializer.FORMAT_VERSION + 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+}
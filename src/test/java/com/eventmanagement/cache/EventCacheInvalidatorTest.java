@@ -0,0 +1,180 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventCacheInvalidatorTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private UpcomingEventIndex upcomingEventIndex;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private EventCacheInvalidator invalidator;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("events", "upcomingEvents",
+                ResponseBytesCache.EVENT_BYTES, ResponseBytesCache.UPCOMING_EVENT_BYTES);
+        invalidator = new EventCacheInvalidator(cacheManager, eventRepository, new UpcomingPageKeys(Set.of(10, 20), 5),
+                upcomingEventIndex);
+
+        event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setStartTime(LocalDateTime.now().plusDays(1));
+
+        for (String cacheName : new String[]{"upcomingEvents", ResponseBytesCache.UPCOMING_EVENT_BYTES}) {
+            Cache upcoming = cacheManager.getCache(cacheName);
+            for (int page = 0; page < 5; page++) {
+                upcoming.put("page_" + page + "_size_10", "cached");
+                upcoming.put("page_" + page + "_size_20", "cached");
+            }
+        }
+        for (String cacheName : new String[]{"events", ResponseBytesCache.EVENT_BYTES}) {
+            cacheManager.getCache(cacheName).put(event.getId().toString(), "cached");
+            cacheManager.getCache(cacheName).put("other", "cached");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test for evicting only the pages showing the event when a response changes
+     */
+    @Test
+    void attendanceChanged_ShouldEvictOnlyPagesShowingTheEvent() {
+        when(eventRepository.countByStartTimeAfterAndStartTimeBefore(any(), any())).thenReturn(25L);
+        when(eventRepository.countByStartTimeAfterAndStartTimeLessThanEqual(any(), any())).thenReturn(26L);
+
+        invalidator.attendanceChanged(event);
+
+        Cache upcoming = cacheManager.getCache("upcomingEvents");
+        assertThat(upcoming.get("page_2_size_10")).isNull();
+        assertThat(upcoming.get("page_1_size_20")).isNull();
+        assertThat(upcoming.get("page_1_size_10")).isNotNull();
+        assertThat(upcoming.get("page_3_size_10")).isNotNull();
+        assertThat(upcoming.get("page_0_size_20")).isNotNull();
+        assertThat(cacheManager.getCache("events").get(event.getId().toString())).isNull();
+        assertThat(cacheManager.getCache("events").get("other")).isNotNull();
+    }
+
+    /**
+     * Test for evicting the rendered bodies along with the values they were rendered from
+     */
+    @Test
+    void attendanceChanged_ShouldEvictRenderedBodies() {
+        when(eventRepository.countByStartTimeAfterAndStartTimeBefore(any(), any())).thenReturn(25L);
+        when(eventRepository.countByStartTimeAfterAndStartTimeLessThanEqual(any(), any())).thenReturn(26L);
+
+        invalidator.attendanceChanged(event);
+
+        Cache upcomingBytes = cacheManager.getCache(ResponseBytesCache.UPCOMING_EVENT_BYTES);
+        Cache eventBytes = cacheManager.getCache(ResponseBytesCache.EVENT_BYTES);
+        assertThat(upcomingBytes.get("page_2_size_10")).isNull();
+        assertThat(upcomingBytes.get("page_1_size_10")).isNotNull();
+        assertThat(eventBytes.get(event.getId().toString())).isNull();
+        assertThat(eventBytes.get("other")).isNotNull();
+    }
+
+    /**
+     * Test for evicting a batch of responses with one pair of counts for the whole batch
+     */
+    @Test
+    void attendanceChanged_ShouldCountOnce_ForBatch() {
+        Event later = new Event();
+        later.setId(UUID.randomUUID());
+        later.setStartTime(event.getStartTime().plusDays(1));
+        when(eventRepository.countByStartTimeAfterAndStartTimeBefore(any(), eq(event.getStartTime()))).thenReturn(15L);
+        when(eventRepository.countByStartTimeAfterAndStartTimeLessThanEqual(any(), eq(later.getStartTime()))).thenReturn(31L);
+
+        invalidator.attendanceChanged(List.of(later, event));
+
+        Cache upcoming = cacheManager.getCache("upcomingEvents");
+        assertThat(upcoming.get("page_0_size_10")).isNotNull();
+        assertThat(upcoming.get("page_1_size_10")).isNull();
+        assertThat(upcoming.get("page_3_size_10")).isNull();
+        assertThat(upcoming.get("page_4_size_10")).isNotNull();
+        assertThat(cacheManager.getCache("events").get(later.getId().toString())).isNull();
+        verify(eventRepository, times(1)).countByStartTimeAfterAndStartTimeBefore(any(), any());
+        verify(eventRepository, times(1)).countByStartTimeAfterAndStartTimeLessThanEqual(any(), any());
+    }
+
+    /**
+     * Test for clearing every rendered upcoming page after a bulk import
+     */
+    @Test
+    void eventsImported_ShouldClearUpcomingPagesAndRenderedBodies() {
+        invalidator.eventsImported();
+
+        assertThat(cacheManager.getCache("upcomingEvents").get("page_0_size_10")).isNull();
+        assertThat(cacheManager.getCache(ResponseBytesCache.UPCOMING_EVENT_BYTES).get("page_0_size_10")).isNull();
+        verify(upcomingEventIndex).reload();
+    }
+
+    /**
+     * Test for evicting every page from the new event's position onwards
+     */
+    @Test
+    void eventCreated_ShouldEvictPagesFromItsPositionOnwards() {
+        when(eventRepository.countByStartTimeAfterAndStartTimeBefore(any(), any())).thenReturn(30L);
+
+        invalidator.eventCreated(event);
+
+        Cache upcoming = cacheManager.getCache("upcomingEvents");
+        assertThat(upcoming.get("page_2_size_10")).isNotNull();
+        assertThat(upcoming.get("page_3_size_10")).isNull();
+        assertThat(upcoming.get("page_4_size_10")).isNull();
+        assertThat(upcoming.get("page_0_size_20")).isNotNull();
+        assertThat(upcoming.get("page_1_size_20")).isNull();
+        verify(upcomingEventIndex).eventSaved(event.getId(), event.getStartTime());
+    }
+
+    /**
+     * Test for deferring evictions until the transaction commits
+     */
+    @Test
+    void evictions_ShouldWaitForCommit_WhenTransactionActive() {
+        when(eventRepository.countByStartTimeAfterAndStartTimeBefore(any(), any())).thenReturn(0L);
+        when(eventRepository.countByStartTimeAfterAndStartTimeLessThanEqual(any(), any())).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.attendanceChanged(event);
+
+        assertThat(cacheManager.getCache("events").get(event.getId().toString())).isNotNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cacheManager.getCache("events").get(event.getId().toString())).isNull();
+        assertThat(cacheManager.getCache("upcomingEvents").get("page_0_size_10")).isNull();
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventmanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseBytesCacheTest {
+
+    @Mock
+    private UpcomingEventIndex upcomingEventIndex;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ResponseBytesCache responseBytesCache;
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(ResponseBytesCache.EVENT_BYTES, ResponseBytesCache.UPCOMING_EVENT_BYTES);
+        responseBytesCache = new ResponseBytesCache(cacheManager, new ObjectMapper(),
+                new UpcomingPageKeys(Set.of(10, 20), 5), upcomingEventIndex, true, 0);
+    }
+
+    /**
+     * Test for serving a cached upcoming page without running the loader again
+     */
+    @Test
+    void upcomingPage_ShouldCacheBody_WhenIndexDoesNotServePage() {
+        when(upcomingEventIndex.serves(firstPage)).thenReturn(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedResponse first = responseBytesCache.upcomingPage(firstPage, () -> load(loads), page -> "\"1\"");
+        CachedResponse second = responseBytesCache.upcomingPage(firstPage, () -> load(loads), page -> "\"1\"");
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.json()).isEqualTo(first.json());
+        assertThat(second.gzip()).isNotNull();
+        assertThat(cacheManager.getCache(ResponseBytesCache.UPCOMING_EVENT_BYTES).get("page_0_size_10")).isNotNull();
+    }
+
+    /**
+     * Test for rendering index served pages on every call, so started events drop out at once
+     */
+    @Test
+    void upcomingPage_ShouldNotCacheBody_WhenIndexServesPage() {
+        when(upcomingEventIndex.serves(firstPage)).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        responseBytesCache.upcomingPage(firstPage, () -> load(loads), page -> "\"1\"");
+        responseBytesCache.upcomingPage(firstPage, () -> load(loads), page -> "\"1\"");
+
+        assertThat(loads).hasValue(2);
+        assertThat(cacheManager.getCache(ResponseBytesCache.UPCOMING_EVENT_BYTES).get("page_0_size_10")).isNull();
+    }
+
+    private List<String> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of("Launch party", "Quarterly review");
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private ConcurrentMapCache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("events"));
+        cache = new TwoLevelCache("events", Caffeine.newBuilder().maximumSize(100).build(), remote, publisher);
+    }
+
+    /**
+     * Test for serving repeated reads from the local tier
+     */
+    @Test
+    void get_ShouldServeFromLocalTier_AfterFirstRemoteHit() {
+        remote.put("key", "value");
+
+        assertThat(cache.get("key").get()).isEqualTo("value");
+        assertThat(cache.get("key").get()).isEqualTo("value");
+
+        verify(remote, times(1)).get("key");
+    }
+
+    /**
+     * Test for writes reaching Redis and invalidating the other nodes
+     */
+    @Test
+    void put_ShouldWriteRemoteAndBroadcastInvalidation() {
+        cache.put("key", "value");
+
+        assertThat(remote.get("key").get()).isEqualTo("value");
+        verify(publisher).publishEvict("events", "key");
+    }
+
+    /**
+     * Test for evictions dropping both tiers and invalidating the other nodes
+     */
+    @Test
+    void evict_ShouldDropBothTiersAndBroadcast() {
+        UUID eventId = UUID.randomUUID();
+        cache.put(eventId, "value");
+
+        cache.evict(eventId);
+
+        assertThat(cache.get(eventId)).isNull();
+        verify(publisher, times(2)).publishEvict("events", eventId.toString());
+    }
+
+    /**
+     * Test for remote invalidation messages dropping only the local copy
+     */
+    @Test
+    void evictLocal_ShouldFallBackToRemote_AfterRemoteInvalidation() {
+        cache.put("key", "value");
+        remote.put("key", "updated");
+
+        cache.evictLocal("key");
+
+        assertThat(cache.get("key").get()).isEqualTo("updated");
+    }
+
+    /**
+     * Test for loading through both tiers when nothing is cached
+     */
+    @Test
+    void get_ShouldLoadAndPopulateBothTiers_WhenMissing() {
+        String value = cache.get("key", () -> "loaded");
+
+        assertThat(value).isEqualTo("loaded");
+        assertThat(remote.get("key").get()).isEqualTo("loaded");
+        assertThat(cache.get("key", () -> "reloaded")).isEqualTo("loaded");
+    }
+}
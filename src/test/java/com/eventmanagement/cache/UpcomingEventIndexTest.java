@@ -0,0 +1,125 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.event.EventStartTime;
+import com.eventmanagement.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UpcomingEventIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private UpcomingEventIndex index;
+    private LocalDateTime now;
+    private UUID first;
+    private UUID second;
+    private UUID third;
+
+    @BeforeEach
+    void setUp() {
+        index = new UpcomingEventIndex(eventRepository, redisTemplate, true, "upcoming-index");
+        now = LocalDateTime.now();
+        first = UUID.randomUUID();
+        second = UUID.randomUUID();
+        third = UUID.randomUUID();
+    }
+
+    /**
+     * Test for serving pages in start time order from the loaded index
+     */
+    @Test
+    void page_ShouldReturnEventsInStartTimeOrder_WhenLoaded() {
+        when(eventRepository.findUpcomingStartTimes(any())).thenReturn(List.of(
+                new EventStartTime(third, now.plusDays(3)),
+                new EventStartTime(first, now.plusDays(1)),
+                new EventStartTime(second, now.plusDays(2))));
+
+        index.rebuild();
+
+        assertThat(index.page(now, 0, 2).eventIds()).containsExactly(first, second);
+        assertThat(index.page(now, 2, 2).eventIds()).containsExactly(third);
+        assertThat(index.page(now, 0, 2).total()).isEqualTo(3);
+    }
+
+    /**
+     * Test for dropping events that have started since they were indexed
+     */
+    @Test
+    void page_ShouldSkipStartedEvents() {
+        when(eventRepository.findUpcomingStartTimes(any())).thenReturn(List.of(
+                new EventStartTime(first, now.plusHours(1)),
+                new EventStartTime(second, now.plusDays(1))));
+        index.rebuild();
+
+        UpcomingEventIndex.Window window = index.page(now.plusHours(2), 0, 10);
+
+        assertThat(window.eventIds()).containsExactly(second);
+        assertThat(window.total()).isEqualTo(1);
+    }
+
+    /**
+     * Test for moving and removing events on writes
+     */
+    @Test
+    void writes_ShouldMoveAndRemoveEvents() {
+        when(eventRepository.findUpcomingStartTimes(any())).thenReturn(List.of(
+                new EventStartTime(first, now.plusDays(1)),
+                new EventStartTime(second, now.plusDays(2))));
+        index.rebuild();
+
+        index.eventSaved(first, now.plusDays(3));
+        index.eventSaved(third, now.plusHours(1));
+        index.eventRemoved(second);
+
+        UpcomingEventIndex.Window window = index.page(now, 0, 10);
+        assertThat(window.eventIds()).containsExactly(third, first);
+        assertThat(window.total()).isEqualTo(2);
+    }
+
+    /**
+     * Test for leaving pages to the database until the index is loaded, and for sorted requests
+     */
+    @Test
+    void serves_ShouldBeFalse_WhenNotLoadedOrSorted() {
+        assertThat(index.serves(PageRequest.of(0, 20))).isFalse();
+
+        when(eventRepository.findUpcomingStartTimes(any())).thenReturn(List.of());
+        index.rebuild();
+
+        assertThat(index.serves(PageRequest.of(0, 20))).isTrue();
+        assertThat(index.serves(PageRequest.of(0, 20, Sort.by("title")))).isFalse();
+    }
+
+    /**
+     * Test for a disabled index never loading
+     */
+    @Test
+    void rebuild_ShouldDoNothing_WhenDisabled() {
+        UpcomingEventIndex disabled = new UpcomingEventIndex(eventRepository, redisTemplate, false, "upcoming-index");
+
+        disabled.rebuild();
+
+        assertThat(disabled.serves(PageRequest.of(0, 20))).isFalse();
+        verifyNoInteractions(eventRepository);
+    }
+}
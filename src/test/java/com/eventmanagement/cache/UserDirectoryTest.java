@@ -0,0 +1,83 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.user.UserSummary;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDirectory userDirectory;
+    private UserSummary alice;
+    private UserSummary bob;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory = new UserDirectory(new ConcurrentMapCacheManager("users", "userEmails"), userRepository);
+        alice = new UserSummary(UUID.randomUUID(), "Alice", "alice@test.com", Role.USER);
+        bob = new UserSummary(UUID.randomUUID(), "Bob", "bob@test.com", Role.ADMIN);
+    }
+
+    /**
+     * Test for loading only the cache misses of a batch, in one query
+     */
+    @Test
+    void findNames_ShouldLoadOnlyMissesInOneQuery() {
+        when(userRepository.findSummariesByIdIn(Set.of(alice.getId()))).thenReturn(List.of(alice));
+        userDirectory.findById(alice.getId());
+
+        when(userRepository.findSummariesByIdIn(Set.of(bob.getId()))).thenReturn(List.of(bob));
+        Map<UUID, String> names = userDirectory.findNames(List.of(alice.getId(), bob.getId()));
+
+        assertThat(names).containsExactlyInAnyOrderEntriesOf(Map.of(alice.getId(), "Alice", bob.getId(), "Bob"));
+        verify(userRepository, times(2)).findSummariesByIdIn(any());
+    }
+
+    /**
+     * Test for an id lookup also filling the email index
+     */
+    @Test
+    void findByEmail_ShouldHitCache_AfterLookupById() {
+        when(userRepository.findSummariesByIdIn(Set.of(alice.getId()))).thenReturn(List.of(alice));
+        userDirectory.findById(alice.getId());
+
+        assertThat(userDirectory.findByEmail("alice@test.com")).contains(alice);
+        verify(userRepository, never()).findSummaryByEmail(any());
+    }
+
+    /**
+     * Test for user changes dropping both indexes
+     */
+    @Test
+    void userChanged_ShouldEvictBothIndexes() {
+        when(userRepository.findSummaryByEmail("alice@test.com")).thenReturn(Optional.of(alice));
+        userDirectory.findByEmail("alice@test.com");
+
+        userDirectory.userChanged(alice.getId(), alice.getEmail());
+
+        when(userRepository.findSummariesByIdIn(Set.of(alice.getId()))).thenReturn(List.of(alice));
+        userDirectory.findById(alice.getId());
+        userDirectory.findByEmail("alice@test.com");
+
+        verify(userRepository).findSummariesByIdIn(Set.of(alice.getId()));
+        verify(userRepository, times(1)).findSummaryByEmail("alice@test.com");
+    }
+}
@@ -0,0 +1,121 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.transaction.PrimaryReads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource firstReplica;
+    @Mock
+    private DataSource secondReplica;
+
+    private String currentWriter;
+    private final AtomicInteger replicaReads = new AtomicInteger();
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", firstReplica);
+        replicas.put("replica-1", secondReplica);
+        currentWriter = "user@example.com";
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicas, () -> currentWriter,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), replicaReads::incrementAndGet);
+        routingDataSource.afterPropertiesSet();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    /**
+     * Test for spreading read-only transactions over the replicas
+     */
+    @Test
+    void determineCurrentLookupKey_ShouldRoundRobinReplicas_WhenReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    /**
+     * Test for reading cache fills from the primary, and only reporting actual replica reads
+     */
+    @Test
+    void determineCurrentLookupKey_ShouldUsePrimary_ForCacheFillingReads() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object key = PrimaryReads.call(routingDataSource::determineCurrentLookupKey);
+
+        assertThat(key).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+        assertThat(replicaReads).hasValue(0);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+        assertThat(replicaReads).hasValue(1);
+    }
+
+    /**
+     * Test for sending writes to the primary
+     */
+    @Test
+    void determineCurrentLookupKey_ShouldUsePrimary_WhenNotReadOnly() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+
+    /**
+     * Test for reading from the primary right after the same user committed a write
+     */
+    @Test
+    void determineCurrentLookupKey_ShouldUsePrimary_AfterWriteOfSameUser() {
+        routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+
+        currentWriter = "other@example.com";
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    /**
+     * Test for falling back to the primary when no replica is available
+     */
+    @Test
+    void determineCurrentLookupKey_ShouldUsePrimary_WhenReplicasUnavailable() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.getAvailableReplicas()).isEmpty();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.PRIMARY);
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventmanagement.controller;
 
+import com.eventmanagement.dto.attendance.BulkAttendanceRequest;
 import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
 import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
 import com.eventmanagement.dto.auth.AuthResponse;
@@ -10,7 +11,10 @@ import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.Visibility;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -22,8 +26,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +44,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 })
 class AttendanceControllerIntegrationTest {
 
+    private static final Logger log = LoggerFactory.getLogger(AttendanceControllerIntegrationTest.class);
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -68,9 +77,9 @@ class AttendanceControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("GOING"));
     }
 
-   // Test 2: POST /attendance - Should return bad request when already responded
+    // Test 2: POST /attendance - Should return conflict when already responded
     @Test
-    void respondToAnEvent_ShouldReturnBadRequest_WhenAlreadyResponded() throws Exception {
+    void respondToAnEvent_ShouldReturnConflict_WhenAlreadyResponded() throws Exception {
 
         CreateAttendanceRequest request = new CreateAttendanceRequest();
         request.setEventId(UUID.fromString(eventId));
@@ -86,7 +95,19 @@ class AttendanceControllerIntegrationTest {
                         .header("Authorization", "Bearer " + userToken)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Already responded to the event"));
+    }
+
+    // Test 2b: POST /attendance - Should return bad request when the event does not exist
+    @Test
+    void respondToAnEvent_ShouldReturnBadRequest_WhenEventNotFound() throws Exception {
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(UUID.randomUUID().toString(), AttendanceStatus.GOING))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Event not found"));
     }
 
     // Test 3: PUT /attendance/events/{eventId} - Should update attendance
@@ -156,6 +177,241 @@ class AttendanceControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // Test 7: POST /attendance/bulk - Should report a result per item
+    @Test
+    void respondToEvents_ShouldReturnResultPerItem() throws Exception {
+        String secondEventId = createEvent(userToken);
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(eventId, AttendanceStatus.MAYBE))))
+                .andExpect(status().isCreated());
+
+        BulkAttendanceRequest request = new BulkAttendanceRequest();
+        request.setResponses(List.of(
+                response(eventId, AttendanceStatus.GOING),
+                response(secondEventId, AttendanceStatus.GOING),
+                response(UUID.randomUUID().toString(), AttendanceStatus.GOING),
+                response(secondEventId, AttendanceStatus.DECLINED)));
+
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].attendance.status").value("GOING"))
+                .andExpect(jsonPath("$.results[2].error").value("Event not found"))
+                .andExpect(jsonPath("$.results[3].error").value("Duplicate event in request"));
+
+        mockMvc.perform(get("/events/" + eventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goingCount").value(1))
+                .andExpect(jsonPath("$.maybeCount").value(0));
+    }
+
+    // Test 8: POST /attendance/bulk - Should reject an empty batch
+    @Test
+    void respondToEvents_ShouldReturnBadRequest_WhenEmpty() throws Exception {
+        BulkAttendanceRequest request = new BulkAttendanceRequest();
+        request.setResponses(List.of());
+
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test 9: POST /attendance/bulk - Should count the same as one call per event, across many events
+    @Test
+    void respondToEvents_ShouldCountLikeSingleResponses_WhenManyEvents() throws Exception {
+        int eventCount = 50;
+        List<String> eventIds = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            eventIds.add(createEvent(userToken));
+        }
+        String singleToken = registerUser("single@test.com");
+        String bulkToken = registerUser("bulk@test.com");
+
+        for (String id : eventIds) {
+            mockMvc.perform(post("/attendance")
+                            .header("Authorization", "Bearer " + singleToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(response(id, AttendanceStatus.GOING))))
+                    .andExpect(status().isCreated());
+        }
+
+        BulkAttendanceRequest request = new BulkAttendanceRequest();
+        request.setResponses(eventIds.stream().map(id -> response(id, AttendanceStatus.GOING)).toList());
+
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + bulkToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(eventCount));
+
+        mockMvc.perform(get("/events/" + eventIds.get(0))
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goingCount").value(2));
+    }
+
+    // Test 10: POST /attendance - Should return conflict when GOING to a full event, seats are given back on status change
+    @Test
+    void respondToAnEvent_ShouldReturnConflict_WhenEventIsFull() throws Exception {
+        String fullEventId = createEvent(userToken, 1);
+        String otherToken = registerUser("other@test.com");
+        String lateToken = registerUser("late@test.com");
+
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(fullEventId, AttendanceStatus.GOING))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(fullEventId, AttendanceStatus.MAYBE))))
+                .andExpect(status().isCreated());
+
+        // The seat is given back when the first attendee stops going
+        UpdateAttendanceRequest declined = new UpdateAttendanceRequest();
+        declined.setStatus(AttendanceStatus.DECLINED);
+        mockMvc.perform(put("/attendance/events/" + fullEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(declined)))
+                .andExpect(status().isOk());
+
+        UpdateAttendanceRequest going = new UpdateAttendanceRequest();
+        going.setStatus(AttendanceStatus.GOING);
+        mockMvc.perform(put("/attendance/events/" + fullEventId)
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(going)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/events/" + fullEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(1))
+                .andExpect(jsonPath("$.goingCount").value(1));
+
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + lateToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(fullEventId, AttendanceStatus.GOING))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Event is full"));
+    }
+
+    // Test 11: POST /attendance/bulk - Should fail only the items of full events, capacity can not drop below going
+    @Test
+    void respondToEvents_ShouldFailItem_WhenEventIsFull() throws Exception {
+        String fullEventId = createEvent(userToken, 1);
+        String otherToken = registerUser("other@test.com");
+
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(response(fullEventId, AttendanceStatus.GOING))))
+                .andExpect(status().isCreated());
+
+        BulkAttendanceRequest request = new BulkAttendanceRequest();
+        request.setResponses(List.of(
+                response(fullEventId, AttendanceStatus.GOING),
+                response(eventId, AttendanceStatus.GOING)));
+
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("FAILED"))
+                .andExpect(jsonPath("$.results[0].error").value("Event is full"))
+                .andExpect(jsonPath("$.results[1].outcome").value("CREATED"));
+
+        mockMvc.perform(get("/attendance/events/" + fullEventId + "/my-status")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/events/" + fullEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"capacity\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(2));
+
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UNCHANGED"));
+
+        mockMvc.perform(put("/events/" + fullEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"capacity\": 1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test 12: Benchmark - rows per second of the bulk endpoint versus one call per event, run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_BulkShouldBeFasterThanSingleCalls() throws Exception {
+        int eventCount = 100;
+        List<String> eventIds = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            eventIds.add(createEvent(userToken));
+        }
+        String singleToken = registerUser("single@test.com");
+        String bulkToken = registerUser("bulk@test.com");
+
+        long singleStart = System.nanoTime();
+        for (String id : eventIds) {
+            mockMvc.perform(post("/attendance")
+                            .header("Authorization", "Bearer " + singleToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(response(id, AttendanceStatus.GOING))))
+                    .andExpect(status().isCreated());
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        BulkAttendanceRequest request = new BulkAttendanceRequest();
+        request.setResponses(eventIds.stream().map(id -> response(id, AttendanceStatus.GOING)).toList());
+
+        long bulkStart = System.nanoTime();
+        mockMvc.perform(post("/attendance/bulk")
+                        .header("Authorization", "Bearer " + bulkToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(eventCount));
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        log.info("{} RSVPs: single calls {} rows/s, bulk {} rows/s", eventCount,
+                Math.round(eventCount / (singleNanos / 1e9)), Math.round(eventCount / (bulkNanos / 1e9)));
+
+        assertThat(bulkNanos).isLessThan(singleNanos);
+    }
+
+    private CreateAttendanceRequest response(String eventId, AttendanceStatus status) {
+        CreateAttendanceRequest request = new CreateAttendanceRequest();
+        request.setEventId(UUID.fromString(eventId));
+        request.setStatus(status);
+        return request;
+    }
+
     private String registerUser(String email) throws Exception {
         RegisterRequest request = new RegisterRequest();
         request.setName("Test User");
@@ -174,6 +430,10 @@ class AttendanceControllerIntegrationTest {
     }
 
     private String createEvent(String token) throws Exception {
+        return createEvent(token, null);
+    }
+
+    private String createEvent(String token, Integer capacity) throws Exception {
         CreateEventRequest request = new CreateEventRequest();
         request.setTitle("Test Event");
         request.setDescription("Test Description");
@@ -181,6 +441,7 @@ class AttendanceControllerIntegrationTest {
         request.setEndTime(LocalDateTime.now().plusDays(7).plusHours(2));
         request.setLocation("Test Location");
         request.setVisibility(Visibility.PUBLIC);
+        request.setCapacity(capacity);
 
         MvcResult result = mockMvc.perform(post("/events")
                         .header("Authorization", "Bearer " + token)
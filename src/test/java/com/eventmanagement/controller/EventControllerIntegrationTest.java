@@ -1,9 +1,12 @@
 package com.eventmanagement.controller;
 
+import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
+import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
 import com.eventmanagement.dto.auth.AuthResponse;
 import com.eventmanagement.dto.auth.RegisterRequest;
 import com.eventmanagement.dto.event.CreateEventRequest;
 import com.eventmanagement.dto.event.UpdateEventRequest;
+import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.Visibility;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,8 +22,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -221,6 +229,113 @@ class EventControllerIntegrationTest {
                 .andExpect(jsonPath("$.attendeeCount").value(0));
     }
 
+    /**
+     * This test checks that the event counters reflect responses per status
+     * and that declined responses are not counted as attendees.
+     */
+    @Test
+    void getEvent_ShouldReturnCountsPerStatus_WhenUsersResponded() throws Exception {
+
+        String createdEventId = createTestEvent(userToken);
+        respondToEvent(createdEventId, AttendanceStatus.DECLINED);
+
+        mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attendeeCount").value(0))
+                .andExpect(jsonPath("$.goingCount").value(0))
+                .andExpect(jsonPath("$.declinedCount").value(1));
+
+        UpdateAttendanceRequest updateRequest = new UpdateAttendanceRequest();
+        updateRequest.setStatus(AttendanceStatus.GOING);
+
+        mockMvc.perform(put("/attendance/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attendeeCount").value(1))
+                .andExpect(jsonPath("$.goingCount").value(1))
+                .andExpect(jsonPath("$.declinedCount").value(0));
+    }
+
+    /**
+     * This test checks that an unchanged event is answered with 304 and no body,
+     * and that a new response to the event changes its ETag.
+     */
+    @Test
+    void getEvent_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+
+        String createdEventId = createTestEvent(userToken);
+
+        String eTag = mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        respondToEvent(createdEventId, AttendanceStatus.GOING);
+
+        mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goingCount").value(1));
+    }
+
+    /**
+     * This test checks that an update with the ETag of an older version is rejected with 412,
+     * so a client cannot overwrite a change it has not seen.
+     */
+    @Test
+    void updateEvent_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+
+        String createdEventId = createTestEvent(userToken);
+
+        String eTag = mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        UpdateEventRequest firstUpdate = new UpdateEventRequest();
+        firstUpdate.setTitle("First Update");
+
+        String newETag = mockMvc.perform(put("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(firstUpdate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+
+        UpdateEventRequest lostUpdate = new UpdateEventRequest();
+        lostUpdate.setTitle("Lost Update");
+
+        mockMvc.perform(put("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lostUpdate)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(newETag).isNotEqualTo(eTag);
+        mockMvc.perform(get("/events/" + createdEventId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.title").value("First Update"));
+    }
+
     /**
      * This test checks if the get event endpoint returns a bad request status
      * when the event does not exist.
@@ -261,6 +376,162 @@ class EventControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").exists());
     }
 
+    /**
+     * This test checks that a client accepting gzip gets the precompressed page with its own ETag,
+     * and that the page decompresses to the same JSON.
+     */
+    @Test
+    void getUpcomingEvents_ShouldReturnGzip_WhenAccepted() throws Exception {
+
+        for (int i = 0; i < 5; i++) {
+            createTestEvent(userToken);
+        }
+
+        MvcResult plain = mockMvc.perform(get("/events/upcoming")
+                        .param("size", "10")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        MvcResult gzip = mockMvc.perform(get("/events/upcoming")
+                        .param("size", "10")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn();
+
+        byte[] decompressed;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray()))) {
+            decompressed = in.readAllBytes();
+        }
+        assertThat(decompressed).isEqualTo(plain.getResponse().getContentAsByteArray());
+        assertThat(gzip.getResponse().getHeader("ETag")).isNotEqualTo(plain.getResponse().getHeader("ETag"));
+    }
+
+    /**
+     * This test checks that q matches title, description and location, title matches first,
+     * with the visibility filter applied in the same query.
+     */
+    @Test
+    void getEvents_ShouldReturnRankedMatches_WhenSearching() throws Exception {
+
+        String descriptionMatch = createTestEvent(userToken, "Evening Meetup", "Live jazz and food", "Kandy", Visibility.PUBLIC);
+        String titleMatch = createTestEvent(userToken, "Jazz Night", "Music by the lake", "Colombo", Visibility.PUBLIC);
+        createTestEvent(userToken, "Jazz Rehearsal", "Band practice", "Galle", Visibility.PRIVATE);
+        createTestEvent(userToken, "Book Club", "Monthly reading", "Colombo", Visibility.PUBLIC);
+
+        mockMvc.perform(get("/events")
+                        .param("q", "JAZZ")
+                        .param("visibility", "PUBLIC")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(titleMatch))
+                .andExpect(jsonPath("$.content[1].id").value(descriptionMatch))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    /**
+     * This test checks that the listings ordered by start time reject a search instead of ignoring it.
+     */
+    @Test
+    void getEvents_ShouldReturnBadRequest_WhenSearchingSliceCursorOrStream() throws Exception {
+
+        mockMvc.perform(get("/events")
+                        .param("q", "jazz")
+                        .param("slice", "true")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/events")
+                        .param("q", "jazz")
+                        .param("cursor", "")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/events")
+                        .param("q", "jazz")
+                        .header("Authorization", "Bearer " + userToken)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * This test checks the lean slice envelope, with and without the approximate total.
+     */
+    @Test
+    void getEvents_ShouldReturnSlice_WhenSliceRequested() throws Exception {
+
+        createTestEvent(userToken);
+        createTestEvent(userToken);
+
+        mockMvc.perform(get("/events")
+                        .param("slice", "true")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/events/hosting")
+                        .param("slice", "true")
+                        .param("includeTotal", "true")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    /**
+     * This test walks the upcoming events with a keyset cursor until the last page.
+     */
+    @Test
+    void getUpcomingEvents_ShouldWalkAllEvents_WhenUsingCursor() throws Exception {
+
+        createTestEvent(userToken);
+        createTestEvent(userToken);
+        createTestEvent(userToken);
+
+        MvcResult firstPage = mockMvc.perform(get("/events/upcoming")
+                        .param("cursor", "")
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+
+        mockMvc.perform(get("/events/upcoming")
+                        .param("cursor", nextCursor)
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * This test checks if a malformed cursor is rejected with a bad request status.
+     */
+    @Test
+    void getEvents_ShouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+
+        mockMvc.perform(get("/events")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * This test checks if the get events endpoint returns a bad request status
      * when the user tries to access events without authentication.
@@ -284,10 +555,148 @@ class EventControllerIntegrationTest {
     @Test
     void getEventsUserIsAttending_ShouldReturnAttendingEvents() throws Exception {
 
+        String attendingEventId = createTestEvent(userToken);
+        String declinedEventId = createTestEvent(userToken);
+        respondToEvent(attendingEventId, AttendanceStatus.GOING);
+        respondToEvent(declinedEventId, AttendanceStatus.DECLINED);
+
         mockMvc.perform(get("/events/attending")
+                        .param("upcoming", "true")
                         .header("Authorization", "Bearer " + userToken))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(attendingEventId))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        mockMvc.perform(get("/events/attending")
+                        .param("status", "DECLINED")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(declinedEventId));
+    }
+
+    /**
+     * Test for importing NDJSON rows in chunks, skipping and reporting the invalid ones
+     */
+    @Test
+    void importEvents_ShouldImportValidNdjsonRows() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withNano(0);
+        String body = String.join("\n",
+                importRow("Imported One", start, start.plusHours(1)),
+                importRow("Imported Two", start, start.plusHours(2)),
+                importRow("", start, start.plusHours(2)),
+                "{not json",
+                "",
+                importRow("Imported Three", start, start.minusHours(1)),
+                importRow("Imported Four", start.plusDays(1), start.plusDays(1).plusHours(1)));
+
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("title must not be blank"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[2].line").value(6));
+
+        mockMvc.perform(get("/events/hosting")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[0].attendeeCount").value(0));
+    }
+
+    /**
+     * Test for importing CSV rows with columns in any order and quoted fields
+     */
+    @Test
+    void importEvents_ShouldImportCsvRows() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withNano(0);
+        String body = String.join("\n",
+                "location,title,startTime,endTime,visibility",
+                "\"Colombo, Sri Lanka\",\"Tech \"\"Meetup\"\"\"," + start + "," + start.plusHours(2) + ",private",
+                "Kandy,Workshop," + start + "," + start.plusHours(2) + ",",
+                "Galle,Bad Time,tomorrow," + start + ",PUBLIC");
+
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4));
+
+        mockMvc.perform(get("/events")
+                        .param("location", "Colombo")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Tech \"Meetup\""))
+                .andExpect(jsonPath("$.content[0].location").value("Colombo, Sri Lanka"))
+                .andExpect(jsonPath("$.content[0].visibility").value("PRIVATE"));
+    }
+
+    /**
+     * Test for streaming the hosted events as NDJSON, one event per line in start time order
+     */
+    @Test
+    void streamEventsHostedByUser_ShouldWriteOneEventPerLine() throws Exception {
+        String firstEventId = createTestEvent(userToken);
+        String secondEventId = createTestEvent(userToken);
+        createTestEvent(adminToken);
+
+        MvcResult result = mockMvc.perform(get("/events/hosting")
+                        .header("Authorization", "Bearer " + userToken)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(Arrays.stream(lines).map(this::readId))
+                .containsExactlyInAnyOrder(firstEventId, secondEventId);
+    }
+
+    /**
+     * Test for streaming filtered events as NDJSON
+     */
+    @Test
+    void streamEvents_ShouldApplyFilters() throws Exception {
+        String privateEventId = createTestEventWithVisibility(userToken, Visibility.PRIVATE);
+        createTestEventWithVisibility(userToken, Visibility.PUBLIC);
+
+        MvcResult result = mockMvc.perform(get("/events")
+                        .param("visibility", "PRIVATE")
+                        .header("Authorization", "Bearer " + userToken)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(readId(lines[0])).isEqualTo(privateEventId);
+    }
+
+    private String readId(String line) {
+        try {
+            return objectMapper.readTree(line).get("id").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String importRow(String title, LocalDateTime startTime, LocalDateTime endTime) throws Exception {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle(title);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setLocation("Import Location");
+        return objectMapper.writeValueAsString(request);
     }
 
     /**
@@ -313,6 +722,21 @@ class EventControllerIntegrationTest {
         return authResponse.getToken();
     }
 
+    /**
+     * This method records the user's attendance response for the given event.
+     */
+    private void respondToEvent(String eventId, AttendanceStatus status) throws Exception {
+        CreateAttendanceRequest request = new CreateAttendanceRequest();
+        request.setEventId(UUID.fromString(eventId));
+        request.setStatus(status);
+
+        mockMvc.perform(post("/attendance")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
     /**
      * This method creates a test event with the given token.
      * It uses the default visibility of PUBLIC.
@@ -334,12 +758,20 @@ class EventControllerIntegrationTest {
      * @throws Exception If there is an error during the request.
      */
     private String createTestEventWithVisibility(String token, Visibility visibility) throws Exception {
+        return createTestEvent(token, "Test Event", "Test Description", "Test Location", visibility);
+    }
+
+    /**
+     * This method creates a test event with the given text fields and visibility.
+     */
+    private String createTestEvent(String token, String title, String description,
+                                   String location, Visibility visibility) throws Exception {
         CreateEventRequest request = new CreateEventRequest();
-        request.setTitle("Test Event");
-        request.setDescription("Test Description");
+        request.setTitle(title);
+        request.setDescription(description);
         request.setStartTime(LocalDateTime.now().plusDays(7));
         request.setEndTime(LocalDateTime.now().plusDays(7).plusHours(2));
-        request.setLocation("Test Location");
+        request.setLocation(location);
         request.setVisibility(visibility);
 
         MvcResult result = mockMvc.perform(post("/events")
@@ -0,0 +1,86 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Visibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Postgres migrations and the Postgres branch of the event search, which the H2 test
+ * database cannot: its V3 has no full-text or trigram indexes. Skipped without Docker.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect")
+@Transactional
+class PostgresSearchIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User host;
+
+    @BeforeEach
+    void setUp() {
+        host = userRepository.save(new User("Search Host", "search-host@test.com", "not-a-hash", Role.USER));
+    }
+
+    /**
+     * Test for the search indexes of the Postgres migrations
+     */
+    @Test
+    void migrations_ShouldCreateSearchIndexes() {
+        assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'events'", String.class))
+                .contains("idx_events_search", "idx_events_title_trgm", "idx_events_location_trgm",
+                        "idx_events_description_trgm");
+    }
+
+    /**
+     * Test for matching a substring of the description, like the LIKE search on H2
+     */
+    @Test
+    void searchEvents_ShouldMatchDescriptionSubstring() {
+        Event descriptionMatch = save("Evening Meetup", "Live jazzfusion and food", "Kandy");
+        Event titleMatch = save("Jazzfusion Night", "Music by the lake", "Colombo");
+        save("Book Club", "Monthly reading", "Colombo");
+
+        Page<Event> result = eventRepository.searchEvents("fusion", Visibility.PUBLIC, null, null, null,
+                PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(Event::getId)
+                .containsExactlyInAnyOrder(titleMatch.getId(), descriptionMatch.getId());
+    }
+
+    private Event save(String title, String description, String location) {
+        return eventRepository.saveAndFlush(new Event(title, description, host.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2), location,
+                Visibility.PUBLIC));
+    }
+}
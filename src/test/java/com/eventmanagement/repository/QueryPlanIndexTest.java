@@ -0,0 +1,78 @@
+package com.eventmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the SQL behind the repository queries is planned on the indexes created
+ * by the migrations, using the H2 query plans of the test database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QueryPlanIndexTest {
+
+    private static final String USER_ID = "'5f0f8f52-1d1b-4c5e-9a53-0c8f1f0a4b11'";
+    private static final String EVENT_ID = "'0b7d2c1e-6a4f-4d3e-8f1a-2c9b7e5d4a33'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test for findUpcomingEvents and the keyset cursor query
+     */
+    @Test
+    void upcomingEvents_ShouldUseStartTimeIndex() {
+        assertThat(plan("SELECT e.* FROM events e WHERE e.start_time > TIMESTAMP '2026-01-01 00:00:00' " +
+                "ORDER BY e.start_time, e.id LIMIT 21"))
+                .contains("IDX_EVENTS_START_TIME_ID");
+    }
+
+    /**
+     * Test for findByHostId
+     */
+    @Test
+    void hostedEvents_ShouldUseHostIndex() {
+        assertThat(plan("SELECT e.* FROM events e WHERE e.host_id = " + USER_ID))
+                .contains("IDX_EVENTS_HOST_ID_START_TIME");
+    }
+
+    /**
+     * Test for findEventsByCriteria with a visibility filter
+     */
+    @Test
+    void eventsByVisibility_ShouldUseVisibilityIndex() {
+        assertThat(plan("SELECT e.* FROM events e WHERE e.visibility = 'PUBLIC' ORDER BY e.start_time"))
+                .contains("IDX_EVENTS_VISIBILITY_START_TIME");
+    }
+
+    /**
+     * Test for findEventsAttendedByUser
+     */
+    @Test
+    void attendedEvents_ShouldUseUserStatusIndex() {
+        assertThat(plan("SELECT e.* FROM events e JOIN attendances a ON a.event_id = e.id " +
+                "WHERE a.user_id = " + USER_ID + " AND a.status IN ('GOING', 'MAYBE') ORDER BY e.start_time"))
+                .contains("IDX_ATTENDANCES_USER_STATUS_EVENT");
+    }
+
+    /**
+     * Test for countByEventIdsGroupedByStatus
+     */
+    @Test
+    void statusCounts_ShouldUseEventUserUniqueIndex() {
+        assertThat(plan("SELECT a.event_id, a.status, COUNT(a.id) FROM attendances a " +
+                "WHERE a.event_id IN (" + EVENT_ID + ") GROUP BY a.event_id, a.status"))
+                .contains("UK_ATTENDANCES_EVENT_USER");
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha256";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(60_000);
+        userDetails = new User("john@example.com", "password", List.of());
+    }
+
+    /**
+     * Test for repeated verifications of a token returning the cached claims
+     */
+    @Test
+    void verifyToken_ShouldReuseVerifiedClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("john@example.com");
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.validateToken(second, userDetails)).isTrue();
+    }
+
+    /**
+     * Test for tokens signed with another key being rejected
+     */
+    @Test
+    void verifyToken_ShouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    /**
+     * Test for expired tokens never being served from the cache
+     */
+    @Test
+    void verifyToken_ShouldRejectExpiredToken() {
+        JwtUtil expiringJwtUtil = jwtUtil(-1_000);
+        String token = expiringJwtUtil.generateToken(userDetails);
+
+        assertThatThrownBy(() -> expiringJwtUtil.verifyToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    /**
+     * Test for the principal being rebuilt from the identity claims
+     */
+    @Test
+    void toUserDetails_ShouldBuildPrincipalFromClaims() {
+        com.eventmanagement.entity.User user =
+                new com.eventmanagement.entity.User("John", "john@example.com", "hash", Role.ADMIN);
+        user.setId(UUID.randomUUID());
+        user.setTokenVersion(3);
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        CustomUserDetails principal = jwtUtil.toUserDetails(jwtUtil.verifyToken(token));
+
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getName()).isEqualTo("John");
+        assertThat(principal.getUsername()).isEqualTo("john@example.com");
+        assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(principal.getTokenVersion()).isEqualTo(3);
+        assertThat(principal.getPassword()).isNull();
+    }
+
+    /**
+     * Test for tokens without identity claims falling back to a user lookup
+     */
+    @Test
+    void toUserDetails_ShouldReturnNull_WhenIdentityClaimsMissing() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertThat(jwtUtil.toUserDetails(jwtUtil.verifyToken(token))).isNull();
+    }
+
+    private JwtUtil jwtUtil(long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaximumSize", 100L);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCheckerTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private Claims claims;
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private final CustomUserDetails principal =
+            new CustomUserDetails(userId, "John", "john@example.com", Role.USER, 0);
+
+    /**
+     * Test for the check never touching the database when disabled
+     */
+    @Test
+    void isRevoked_ShouldReturnFalse_WhenDisabled() {
+        TokenRevocationChecker checker = checker(false);
+
+        assertThat(checker.isRevoked(principal, claims)).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test for tokens being rejected once the user's token version is bumped
+     */
+    @Test
+    void isRevoked_ShouldReturnTrue_AfterTokensRevoked() {
+        TokenRevocationChecker checker = checker(true);
+        when(jwtUtil.getTokenVersion(claims)).thenReturn(0L);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0L), Optional.of(1L));
+
+        assertThat(checker.isRevoked(principal, claims)).isFalse();
+        assertThat(checker.isRevoked(principal, claims)).isFalse();
+
+        checker.revokeTokens(userId);
+
+        assertThat(checker.isRevoked(principal, claims)).isTrue();
+        verify(userRepository).incrementTokenVersion(userId);
+        verify(userRepository, times(2)).findTokenVersionById(userId);
+    }
+
+    /**
+     * Test for keeping the cached version until the revoking transaction commits, then telling the other nodes
+     */
+    @Test
+    void revokeTokens_ShouldInvalidateAfterCommit_AndPublish() {
+        TokenRevocationChecker checker = checker(true);
+        when(jwtUtil.getTokenVersion(claims)).thenReturn(0L);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0L), Optional.of(1L));
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        assertThat(checker.isRevoked(principal, claims)).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            checker.revokeTokens(userId);
+            assertThat(checker.isRevoked(principal, claims)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(checker.isRevoked(principal, claims)).isTrue();
+        verify(redisTemplate).convertAndSend(eq("token-revocations"), endsWith("|" + userId));
+    }
+
+    /**
+     * Test for dropping the cached version when another node revokes the user's tokens
+     */
+    @Test
+    void onMessage_ShouldInvalidateVersion_WhenRevokedOnOtherNode() {
+        TokenRevocationChecker checker = checker(true);
+        when(jwtUtil.getTokenVersion(claims)).thenReturn(0L);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0L), Optional.of(1L));
+        assertThat(checker.isRevoked(principal, claims)).isFalse();
+
+        checker.onMessage(new DefaultMessage("token-revocations".getBytes(StandardCharsets.UTF_8),
+                ("other-node|" + userId).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(checker.isRevoked(principal, claims)).isTrue();
+    }
+
+    private TokenRevocationChecker checker(boolean enabled) {
+        return new TokenRevocationChecker(userRepository, jwtUtil, redisTemplateProvider, enabled,
+                Duration.ofSeconds(30), "token-revocations");
+    }
+}
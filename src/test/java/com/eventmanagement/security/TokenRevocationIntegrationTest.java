@@ -0,0 +1,96 @@
+package com.eventmanagement.security;
+
+import com.eventmanagement.dto.admin.UpdateRoleRequest;
+import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.dto.auth.RegisterRequest;
+import com.eventmanagement.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs with the default revocation settings. Not transactional: the cached token versions are
+ * only dropped once the role change commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> emails = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (String email : emails) {
+            jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+        }
+    }
+
+    /**
+     * Test for rejecting a token issued with the old role once an admin changes the role
+     */
+    @Test
+    void changeRole_ShouldRejectOldToken_WhenUserDemoted() throws Exception {
+        String adminToken = register(Role.ADMIN).getToken();
+        AuthResponse demoted = register(Role.ADMIN);
+        mockMvc.perform(get("/admin/cache-statistics")
+                        .header("Authorization", "Bearer " + demoted.getToken()))
+                .andExpect(status().isOk());
+
+        UpdateRoleRequest request = new UpdateRoleRequest();
+        request.setRole(Role.USER);
+        mockMvc.perform(put("/admin/users/" + demoted.getUser().getId() + "/role")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/cache-statistics")
+                        .header("Authorization", "Bearer " + demoted.getToken()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/events/hosting")
+                        .header("Authorization", "Bearer " + demoted.getToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    private AuthResponse register(Role role) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Revoked User");
+        request.setEmail("revoked-" + UUID.randomUUID() + "@test.com");
+        request.setPassword("password123");
+        request.setRole(role);
+        emails.add(request.getEmail());
+
+        MvcResult result = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class);
+    }
+}
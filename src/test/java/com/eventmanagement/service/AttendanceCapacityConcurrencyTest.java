@@ -0,0 +1,222 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
+import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.exception.ConflictException;
+import com.eventmanagement.repository.EventAttendeeCounterRepository;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress tests for seat reservation and the counters, many responses to one small event at the same time.
+ * Not transactional, every response commits on its own connection like in production, so the
+ * data is removed after the test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AttendanceCapacityConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceCapacityConcurrencyTest.class);
+
+    private static final int CAPACITY = 50;
+    private static final int USERS = 400;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendeeCounterService attendeeCounterService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventAttendeeCounterRepository counterRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Event event;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            newUsers.add(new User("Load User " + i, "load" + i + "@capacity.test", "not-a-hash", Role.USER));
+        }
+        users = userRepository.saveAll(newUsers);
+
+        Event newEvent = new Event("Small venue", "Stress test", users.get(0).getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2),
+                "Test Location", Visibility.PUBLIC);
+        newEvent.setCapacity(CAPACITY);
+        event = eventRepository.save(newEvent);
+        attendeeCounterService.initialize(event.getId(), CAPACITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM attendances WHERE event_id = ?", event.getId());
+        counterRepository.deleteById(event.getId());
+        eventRepository.deleteById(event.getId());
+        userRepository.deleteAll(users);
+    }
+
+    /**
+     * Test for never going over the capacity when users respond at the same time
+     */
+    @Test
+    void respondToAnEvent_ShouldNotOverbook_WhenUsersRespondConcurrently() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+
+        respondConcurrently(reserved, full);
+
+        assertThat(reserved.get()).isEqualTo(CAPACITY);
+        assertThat(full.get()).isEqualTo(USERS - CAPACITY);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendances WHERE event_id = ? AND status = 'GOING'",
+                Long.class, event.getId())).isEqualTo(CAPACITY);
+        assertThat(counterRepository.findById(event.getId()).orElseThrow().getGoingCount())
+                .isEqualTo(CAPACITY);
+    }
+
+    /**
+     * Benchmark of the responses per second while users compete for the seats, run with -Pbenchmark
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmark_RespondToAnEvent_WhenUsersRespondConcurrently() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+
+        long elapsedNanos = respondConcurrently(reserved, full);
+
+        log.info("{} concurrent GOING responses for {} seats on {} threads: {} responses/s",
+                USERS, CAPACITY, THREADS, Math.round(USERS / (elapsedNanos / 1e9)));
+
+        assertThat(reserved.get()).isEqualTo(CAPACITY);
+        assertThat(full.get()).isEqualTo(USERS - CAPACITY);
+    }
+
+    // Every user responds GOING at once, returns the time from the start signal until all are done
+    private long respondConcurrently(AtomicInteger reserved, AtomicInteger full) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (User user : users) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                authenticate(user);
+                try {
+                    CreateAttendanceRequest request = new CreateAttendanceRequest();
+                    request.setEventId(event.getId());
+                    request.setStatus(AttendanceStatus.GOING);
+                    attendanceService.respondToAnEvent(request);
+                    reserved.incrementAndGet();
+                } catch (ConflictException e) {
+                    full.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        return elapsedNanos;
+    }
+
+    /**
+     * Test for keeping the counters equal to the responses when one user changes the response concurrently
+     */
+    @Test
+    void updateTheAttendance_ShouldKeepCountersExact_WhenSameUserUpdatesConcurrently() throws Exception {
+        User user = users.get(0);
+        authenticate(user);
+        try {
+            CreateAttendanceRequest request = new CreateAttendanceRequest();
+            request.setEventId(event.getId());
+            request.setStatus(AttendanceStatus.GOING);
+            attendanceService.respondToAnEvent(request);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            AttendanceStatus status = statuses[i % statuses.length];
+            futures.add(executor.submit(() -> {
+                start.await();
+                authenticate(user);
+                try {
+                    UpdateAttendanceRequest update = new UpdateAttendanceRequest();
+                    update.setStatus(status);
+                    attendanceService.updateTheAttendance(event.getId(), update);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        String status = jdbcTemplate.queryForObject("SELECT status FROM attendances WHERE event_id = ?",
+                String.class, event.getId());
+        EventAttendeeCounter counter = counterRepository.findById(event.getId()).orElseThrow();
+        assertThat(counter.getGoingCount()).isEqualTo(status.equals("GOING") ? 1 : 0);
+        assertThat(counter.getMaybeCount()).isEqualTo(status.equals("MAYBE") ? 1 : 0);
+        assertThat(counter.getDeclinedCount()).isEqualTo(status.equals("DECLINED") ? 1 : 0);
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new CustomUserDetails(user), null, List.of()));
+    }
+}
@@ -1,27 +1,38 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.AttendanceStatusCache;
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
 import com.eventmanagement.dto.attendance.AttendanceResponse;
 import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
+import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.dto.user.UserSummary;
 import com.eventmanagement.entity.Attendance;
 import com.eventmanagement.entity.AttendanceStatus;
 import com.eventmanagement.entity.Event;
-import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.exception.ConflictException;
 import com.eventmanagement.mapper.AttendanceMapper;
 import com.eventmanagement.repository.AttendanceRepository;
+import com.eventmanagement.repository.AttendanceWriteRepository.RespondedEvent;
 import com.eventmanagement.repository.EventRepository;
-import com.eventmanagement.repository.UserRepository;
 import com.eventmanagement.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,10 +51,22 @@ class AttendanceServiceTest {
     @Mock
     private EventRepository eventRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+    @Mock
+    private AttendeeCounterService attendeeCounterService;
     @Mock
     private AttendanceMapper attendanceMapper;
     @Mock
+    private EventCacheInvalidator eventCacheInvalidator;
+    @Mock
+    private AttendanceStatusCache attendanceStatusCache;
+    @Mock
+    private AttendanceWriteBehind attendanceWriteBehind;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -55,7 +79,7 @@ class AttendanceServiceTest {
     private CreateAttendanceRequest createRequest;
     private UpdateAttendanceRequest updateRequest;
     private Event event;
-    private User user;
+    private UserSummary user;
     private Attendance attendance;
     private UUID userId;
     private UUID eventId;
@@ -76,9 +100,7 @@ class AttendanceServiceTest {
         event.setId(eventId);
         event.setTitle("Test Event");
 
-        user = new User();
-        user.setId(userId);
-        user.setName("Test User");
+        user = new UserSummary(userId, "Test User", "user@test.com", Role.USER);
 
         attendance = new Attendance();
         attendance.setId(UUID.randomUUID());
@@ -92,7 +114,123 @@ class AttendanceServiceTest {
         when(userDetails.getId()).thenReturn(userId);
 
         lenient().when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        lenient().when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        lenient().when(userDirectory.findById(userId)).thenReturn(Optional.of(user));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test for queueing a response in write-behind mode without touching the database
+     */
+    @Test
+    void respondToAnEvent_ShouldQueueResponse_WhenWriteBehindEnabled() {
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setTitle("Test Event");
+        LocalDateTime respondedAt = LocalDateTime.now();
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(eventResponse);
+        when(attendanceWriteBehind.submitIfAbsent(eventId, userId, AttendanceStatus.GOING))
+                .thenReturn(Optional.of(new AttendanceWriteAheadLog.Entry(eventId, userId, AttendanceStatus.GOING, respondedAt)));
+
+        AttendanceResponse response = attendanceService.respondToAnEvent(createRequest);
+
+        assertThat(response.isQueued()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(AttendanceStatus.GOING);
+        assertThat(response.getEventTitle()).isEqualTo("Test Event");
+        verify(attendanceRepository, never()).insertIfAbsent(any());
+        verify(attendeeCounterService, never()).recordResponse(any(), any(), any());
+        verify(transactionTemplate, never()).execute(any());
+        verify(attendanceStatusCache).putAfterCommit(response);
+    }
+
+    /**
+     * Test for rejecting a second response in write-behind mode, like the synchronous path
+     */
+    @Test
+    void respondToAnEvent_ShouldThrowConflict_WhenQueuedAndAlreadyResponded() {
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(new EventResponse());
+        when(attendanceRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> attendanceService.respondToAnEvent(createRequest))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Already responded to the event");
+
+        verify(attendanceWriteBehind, never()).submitIfAbsent(any(), any(), any());
+        verify(attendanceStatusCache, never()).putAfterCommit(any());
+    }
+
+    /**
+     * Test for rejecting a response queued by a concurrent request of the same user
+     */
+    @Test
+    void respondToAnEvent_ShouldThrowConflict_WhenSameResponseQueuedConcurrently() {
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(new EventResponse());
+        when(attendanceWriteBehind.submitIfAbsent(eventId, userId, AttendanceStatus.GOING)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> attendanceService.respondToAnEvent(createRequest))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Already responded to the event");
+    }
+
+    /**
+     * Test for rejecting an update in write-behind mode when the user has not responded
+     */
+    @Test
+    void updateTheAttendance_ShouldThrowException_WhenQueuedAndNotResponded() {
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(new EventResponse());
+        when(attendanceRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(false);
+
+        assertThatThrownBy(() -> attendanceService.updateTheAttendance(eventId, updateRequest))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Not responded to the event yet");
+
+        verify(attendanceWriteBehind, never()).submit(any(), any(), any());
+    }
+
+    /**
+     * Test for queueing an update of a response still waiting to be written
+     */
+    @Test
+    void updateTheAttendance_ShouldQueueUpdate_WhenResponseQueued() {
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(new EventResponse());
+        when(attendanceWriteBehind.findQueued(eventId, userId)).thenReturn(Optional.of(
+                new AttendanceWriteAheadLog.Entry(eventId, userId, AttendanceStatus.GOING, LocalDateTime.now())));
+        when(attendanceWriteBehind.submit(eventId, userId, AttendanceStatus.MAYBE)).thenReturn(
+                new AttendanceWriteAheadLog.Entry(eventId, userId, AttendanceStatus.MAYBE, LocalDateTime.now()));
+
+        AttendanceResponse response = attendanceService.updateTheAttendance(eventId, updateRequest);
+
+        assertThat(response.isQueued()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(AttendanceStatus.MAYBE);
+        verify(attendanceRepository, never()).existsByEventIdAndUserId(any(), any());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    /**
+     * Test for events with a capacity staying on the synchronous path in write-behind mode
+     */
+    @Test
+    void respondToAnEvent_ShouldWriteSynchronously_WhenEventHasCapacity() {
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setCapacity(10);
+        when(attendanceWriteBehind.isEnabled()).thenReturn(true);
+        when(eventService.getAnEvent(eventId)).thenReturn(eventResponse);
+        when(attendanceRepository.insertIfAbsent(any(Attendance.class)))
+                .thenReturn(Optional.of(new RespondedEvent("Test Event", LocalDateTime.now().plusDays(1), true)));
+
+        attendanceService.respondToAnEvent(createRequest);
+
+        verify(attendanceWriteBehind, never()).submitIfAbsent(any(), any(), any());
+        verify(attendeeCounterService).recordResponse(eventId, null, AttendanceStatus.GOING);
     }
 
     /**
@@ -101,20 +239,26 @@ class AttendanceServiceTest {
     @Test
     void respondToAnEvent_ShouldCreateAttendance_WhenValidRequest() {
 
-        when(attendanceRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(false);
-        when(attendanceRepository.save(any(Attendance.class))).thenReturn(attendance);
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        when(attendanceRepository.insertIfAbsent(any(Attendance.class)))
+                .thenReturn(Optional.of(new RespondedEvent("Test Event", startTime, true)));
 
         AttendanceResponse expectedResponse = new AttendanceResponse();
         expectedResponse.setEventId(eventId.toString());
         expectedResponse.setStatus(AttendanceStatus.GOING);
-        when(attendanceMapper.toResponse(any(), anyString(), anyString())).thenReturn(expectedResponse);
+        when(attendanceMapper.toResponse(any(), eq("Test Event"), eq("Test User"))).thenReturn(expectedResponse);
 
         AttendanceResponse response = attendanceService.respondToAnEvent(createRequest);
 
         assertThat(response).isNotNull();
-        verify(eventRepository).findById(eventId); // Verify event validation happens first
-        verify(attendanceRepository).existsByEventIdAndUserId(eventId, userId);
-        verify(attendanceRepository).save(any(Attendance.class));
+        verify(attendanceRepository).insertIfAbsent(any(Attendance.class)); // Event check and insert in one statement
+        verify(eventRepository, never()).findById(any());
+        verify(attendanceRepository, never()).save(any());
+        // Cache positions are counted before the counter row gets locked
+        InOrder inOrder = inOrder(eventCacheInvalidator, attendeeCounterService);
+        inOrder.verify(eventCacheInvalidator).attendanceChanged(eventId, startTime);
+        inOrder.verify(attendeeCounterService).recordResponse(eventId, null, AttendanceStatus.GOING);
+        verify(attendanceStatusCache).putAfterCommit(expectedResponse);
     }
 
     /**
@@ -123,31 +267,31 @@ class AttendanceServiceTest {
     @Test
     void respondToAnEvent_ShouldThrowException_WhenEventNotFound() {
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+        when(attendanceRepository.insertIfAbsent(any(Attendance.class))).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> attendanceService.respondToAnEvent(createRequest))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Event not found");
 
-        verify(attendanceRepository, never()).existsByEventIdAndUserId(any(), any());
-        verify(attendanceRepository, never()).save(any());
+        verify(attendeeCounterService, never()).recordResponse(any(), any(), any());
     }
 
     /**
      * Test for responding to an event when the user has already responded
      */
     @Test
-    void respondToAnEvent_ShouldThrowException_WhenAlreadyResponded() {
+    void respondToAnEvent_ShouldThrowConflict_WhenAlreadyResponded() {
 
-        when(attendanceRepository.existsByEventIdAndUserId(eventId, userId)).thenReturn(true);
+        when(attendanceRepository.insertIfAbsent(any(Attendance.class)))
+                .thenReturn(Optional.of(new RespondedEvent("Test Event", LocalDateTime.now().plusDays(1), false)));
 
         assertThatThrownBy(() -> attendanceService.respondToAnEvent(createRequest))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(ConflictException.class)
                 .hasMessage("Already responded to the event");
 
-        verify(eventRepository).findById(eventId);
-        verify(attendanceRepository).existsByEventIdAndUserId(eventId, userId);
-        verify(attendanceRepository, never()).save(any());
+        verify(eventRepository, never()).existsById(any());
+        verify(attendeeCounterService, never()).recordResponse(any(), any(), any());
+        verify(attendanceStatusCache, never()).putAfterCommit(any());
     }
 
     /**
@@ -156,7 +300,7 @@ class AttendanceServiceTest {
     @Test
     void updateTheAttendance_ShouldUpdateStatus_WhenAttendanceExists() {
 
-        when(attendanceRepository.findByEventIdAndUserId(eventId, userId)).thenReturn(Optional.of(attendance));
+        when(attendanceRepository.findForUpdate(eventId, userId)).thenReturn(Optional.of(attendance));
         when(attendanceRepository.save(any(Attendance.class))).thenReturn(attendance);
 
         AttendanceResponse expectedResponse = new AttendanceResponse();
@@ -167,10 +311,11 @@ class AttendanceServiceTest {
         AttendanceResponse response = attendanceService.updateTheAttendance(eventId, updateRequest);
 
         assertThat(response).isNotNull();
-        verify(attendanceRepository).findByEventIdAndUserId(eventId, userId);
+        verify(attendanceRepository).findForUpdate(eventId, userId);
         verify(attendanceRepository).save(any(Attendance.class));
         verify(eventRepository).findById(eventId); // Verify mapping dependencies
-        verify(userRepository).findById(userId);
+        verify(userDirectory).findById(userId);
+        verify(attendeeCounterService).recordResponse(eventId, AttendanceStatus.GOING, AttendanceStatus.MAYBE);
     }
 
     /**
@@ -179,13 +324,13 @@ class AttendanceServiceTest {
     @Test
     void updateTheAttendance_ShouldThrowException_WhenAttendanceNotFound() {
 
-        when(attendanceRepository.findByEventIdAndUserId(eventId, userId)).thenReturn(Optional.empty());
+        when(attendanceRepository.findForUpdate(eventId, userId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> attendanceService.updateTheAttendance(eventId, updateRequest))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Not responded to the event yet");
 
-        verify(attendanceRepository).findByEventIdAndUserId(eventId, userId);
+        verify(attendanceRepository).findForUpdate(eventId, userId);
         verify(attendanceRepository, never()).save(any());
     }
 
@@ -213,8 +358,45 @@ class AttendanceServiceTest {
 
         verify(attendanceRepository).findByEventIdAndUserId(eventId, userId);
         verify(eventRepository).findById(eventId); // Verify mapping dependencies
-        verify(userRepository).findById(userId);
+        verify(userDirectory).findById(userId);
         verify(attendanceMapper).toResponse(attendance, "Test Event", "Test User");
+        verify(attendanceStatusCache).putIfAbsent(expectedResponse);
+    }
+
+    /**
+     * Test for serving my attendance status from the per user cache
+     */
+    @Test
+    void getMyAttendanceStatus_ShouldReturnCachedStatus_WhenCached() {
+
+        AttendanceResponse cachedResponse = new AttendanceResponse();
+        cachedResponse.setEventId(eventId.toString());
+        cachedResponse.setUserId(userId.toString());
+        cachedResponse.setStatus(AttendanceStatus.MAYBE);
+        when(attendanceStatusCache.get(eventId, userId)).thenReturn(Optional.of(cachedResponse));
+
+        AttendanceResponse response = attendanceService.getMyAttendanceStatus(eventId);
+
+        assertThat(response).isSameAs(cachedResponse);
+        verify(attendanceRepository, never()).findByEventIdAndUserId(any(), any());
+    }
+
+    /**
+     * Test for serving a cached "not responded" entry without hitting the database
+     */
+    @Test
+    void getMyAttendanceStatus_ShouldThrowException_WhenCachedAsNotResponded() {
+
+        AttendanceResponse notResponded = new AttendanceResponse();
+        notResponded.setEventId(eventId.toString());
+        notResponded.setUserId(userId.toString());
+        when(attendanceStatusCache.get(eventId, userId)).thenReturn(Optional.of(notResponded));
+
+        assertThatThrownBy(() -> attendanceService.getMyAttendanceStatus(eventId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Not responded to the event yet");
+
+        verify(attendanceRepository, never()).findByEventIdAndUserId(any(), any());
     }
 
     /**
@@ -231,6 +413,7 @@ class AttendanceServiceTest {
 
         verify(attendanceRepository).findByEventIdAndUserId(eventId, userId);
         verify(eventRepository, never()).findById(any());
-        verify(userRepository, never()).findById(any());
+        verify(userDirectory, never()).findById(any());
+        verify(attendanceStatusCache).putNotResponded(eventId, userId);
     }
 }
\ No newline at end of file
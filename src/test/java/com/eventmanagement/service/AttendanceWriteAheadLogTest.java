@@ -0,0 +1,114 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.service.AttendanceWriteAheadLog.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceWriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Test for replaying the entries a previous run left on disk, in append order
+     */
+    @Test
+    void replay_ShouldReturnEntriesOfPreviousRun() {
+        Entry first = entry(AttendanceStatus.GOING);
+        Entry second = entry(AttendanceStatus.DECLINED);
+
+        AttendanceWriteAheadLog crashed = new AttendanceWriteAheadLog(directory, true);
+        crashed.append(first);
+        crashed.append(second);
+        crashed.close();
+
+        AttendanceWriteAheadLog restarted = new AttendanceWriteAheadLog(directory, true);
+
+        assertThat(restarted.replay()).containsExactly(first, second);
+        restarted.close();
+    }
+
+    /**
+     * Test for skipping a line torn by a crash
+     */
+    @Test
+    void replay_ShouldSkipTornEntry() throws IOException {
+        Entry first = entry(AttendanceStatus.MAYBE);
+
+        AttendanceWriteAheadLog crashed = new AttendanceWriteAheadLog(directory, false);
+        crashed.append(first);
+        crashed.close();
+        Path segment = segments().get(0);
+        byte[] torn = AttendanceWriteAheadLog.encode(entry(AttendanceStatus.GOING));
+        Files.write(segment, new String(torn, 0, torn.length / 2, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        AttendanceWriteAheadLog restarted = new AttendanceWriteAheadLog(directory, false);
+
+        assertThat(restarted.replay()).containsExactly(first);
+        restarted.close();
+    }
+
+    /**
+     * Test for deleting the sealed segments once written, while new appends go to the next segment
+     */
+    @Test
+    void rotate_ShouldSealSegment_AndKeepNewAppends() throws IOException {
+        AttendanceWriteAheadLog log = new AttendanceWriteAheadLog(directory, true);
+        log.append(entry(AttendanceStatus.GOING));
+
+        List<Path> sealed = log.rotate();
+        Entry afterRotation = entry(AttendanceStatus.MAYBE);
+        log.append(afterRotation);
+        log.delete(sealed);
+        log.close();
+
+        assertThat(sealed).hasSize(1);
+        assertThat(segments()).hasSize(1);
+        AttendanceWriteAheadLog restarted = new AttendanceWriteAheadLog(directory, true);
+        assertThat(restarted.replay()).containsExactly(afterRotation);
+        restarted.close();
+    }
+
+    /**
+     * Test for keeping parked entries out of the replay
+     */
+    @Test
+    void park_ShouldKeepEntryOutOfReplay() {
+        Entry parked = entry(AttendanceStatus.GOING);
+        AttendanceWriteAheadLog log = new AttendanceWriteAheadLog(directory, true);
+        log.append(parked);
+        log.delete(log.rotate());
+        log.park(parked);
+        log.close();
+
+        AttendanceWriteAheadLog restarted = new AttendanceWriteAheadLog(directory, true);
+
+        assertThat(restarted.replay()).isEmpty();
+        assertThat(restarted.parked()).containsExactly(parked);
+        restarted.close();
+    }
+
+    private Entry entry(AttendanceStatus status) {
+        return new Entry(UUID.randomUUID(), UUID.randomUUID(), status, LocalDateTime.of(2026, 5, 1, 12, 30, 15, 123_456_000));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.attendance.AttendanceResponse;
+import com.eventmanagement.dto.attendance.CreateAttendanceRequest;
+import com.eventmanagement.dto.attendance.UpdateAttendanceRequest;
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.repository.EventAttendeeCounterRepository;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.CustomUserDetails;
+import com.eventmanagement.service.AttendanceWriteAheadLog.Entry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-behind RSVPs end to end: queued in the log, visible to the user right away and written
+ * to the database by the flush. Not transactional, the flush commits on its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AttendanceWriteBehindIntegrationTest {
+
+    @TempDir
+    static Path logDirectory;
+
+    @DynamicPropertySource
+    static void writeBehindProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.attendance.write-behind.enabled", () -> "true");
+        registry.add("app.attendance.write-behind.directory", () -> logDirectory.toString());
+        registry.add("app.attendance.write-behind.flush-interval", () -> "PT1H");
+    }
+
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceWriteBehind attendanceWriteBehind;
+    @Autowired
+    private AttendeeCounterService attendeeCounterService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventAttendeeCounterRepository counterRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User otherUser;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Queued User", "queued@write-behind.test", "not-a-hash", Role.USER));
+        otherUser = userRepository.save(new User("Other User", "other@write-behind.test", "not-a-hash", Role.USER));
+        event = eventRepository.save(new Event("Flash sale", "Write-behind test", user.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2),
+                "Test Location", Visibility.PUBLIC));
+        attendeeCounterService.initialize(event.getId(), null);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new CustomUserDetails(user), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM attendances WHERE event_id = ?", event.getId());
+        counterRepository.deleteById(event.getId());
+        eventRepository.deleteById(event.getId());
+        userRepository.delete(user);
+        userRepository.delete(otherUser);
+    }
+
+    /**
+     * Test for coalescing queued responses of a user and writing the latest one on flush
+     */
+    @Test
+    void flush_ShouldWriteLatestQueuedResponse() {
+        CreateAttendanceRequest create = new CreateAttendanceRequest();
+        create.setEventId(event.getId());
+        create.setStatus(AttendanceStatus.MAYBE);
+        UpdateAttendanceRequest update = new UpdateAttendanceRequest();
+        update.setStatus(AttendanceStatus.GOING);
+
+        AttendanceResponse created = attendanceService.respondToAnEvent(create);
+        attendanceService.updateTheAttendance(event.getId(), update);
+
+        assertThat(created.isQueued()).isTrue();
+        assertThat(attendanceWriteBehind.queuedCount()).isEqualTo(1);
+        assertThat(attendanceService.getMyAttendanceStatus(event.getId()).getStatus()).isEqualTo(AttendanceStatus.GOING);
+        assertThat(countAttendances()).isZero();
+
+        attendanceWriteBehind.flush();
+
+        assertThat(attendanceWriteBehind.queuedCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM attendances WHERE event_id = ?",
+                String.class, event.getId())).isEqualTo("GOING");
+        assertThat(counterRepository.findById(event.getId()).orElseThrow().getGoingCount()).isEqualTo(1);
+        assertThat(attendanceService.getMyAttendanceStatus(event.getId()).isQueued()).isFalse();
+    }
+
+    /**
+     * Test for parking only the GOING responses of an event that filled up before the flush
+     */
+    @Test
+    void flush_ShouldWriteOtherResponses_WhenEventFullBeforeFlush() {
+        Entry going = attendanceWriteBehind.submit(event.getId(), user.getId(), AttendanceStatus.GOING);
+        attendanceWriteBehind.submit(event.getId(), otherUser.getId(), AttendanceStatus.DECLINED);
+        jdbcTemplate.update("UPDATE event_attendee_counters SET capacity = 0 WHERE event_id = ?", event.getId());
+
+        attendanceWriteBehind.flush();
+
+        assertThat(attendanceWriteBehind.queuedCount()).isZero();
+        assertThat(attendanceWriteBehind.parked()).contains(going);
+        assertThat(countAttendances()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM attendances WHERE event_id = ? AND user_id = ?",
+                String.class, event.getId(), otherUser.getId())).isEqualTo("DECLINED");
+        EventAttendeeCounter counter = counterRepository.findById(event.getId()).orElseThrow();
+        assertThat(counter.getGoingCount()).isZero();
+        assertThat(counter.getDeclinedCount()).isEqualTo(1);
+    }
+
+    private long countAttendances() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendances WHERE event_id = ?", Long.class, event.getId());
+    }
+}
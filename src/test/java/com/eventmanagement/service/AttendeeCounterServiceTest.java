@@ -0,0 +1,230 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.entity.AttendanceStatus;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.exception.ConflictException;
+import com.eventmanagement.repository.AttendanceRepository;
+import com.eventmanagement.repository.EventAttendeeCounterRepository;
+import com.eventmanagement.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendeeCounterServiceTest {
+
+    @Mock
+    private EventAttendeeCounterRepository counterRepository;
+    @Mock
+    private AttendanceRepository attendanceRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AttendeeCounterService attendeeCounterService;
+
+    private UUID eventId;
+
+    @BeforeEach
+    void setUp() {
+        eventId = UUID.randomUUID();
+    }
+
+    /**
+     * Test for a new response incrementing only its own status
+     */
+    @Test
+    void recordResponse_ShouldIncrementStatus_WhenNewResponse() {
+        when(counterRepository.applyDelta(eventId, 1, 0, 0)).thenReturn(1);
+
+        attendeeCounterService.recordResponse(eventId, null, AttendanceStatus.GOING);
+
+        verify(counterRepository).applyDelta(eventId, 1, 0, 0);
+        verify(counterRepository, never()).save(any());
+    }
+
+    /**
+     * Test for a changed response moving one count between statuses
+     */
+    @Test
+    void recordResponse_ShouldMoveCount_WhenStatusChanged() {
+        when(counterRepository.applyDelta(eventId, -1, 0, 1)).thenReturn(1);
+
+        attendeeCounterService.recordResponse(eventId, AttendanceStatus.GOING, AttendanceStatus.DECLINED);
+
+        verify(counterRepository).applyDelta(eventId, -1, 0, 1);
+    }
+
+    /**
+     * Test for an unchanged response not touching the counters
+     */
+    @Test
+    void recordResponse_ShouldDoNothing_WhenStatusUnchanged() {
+        attendeeCounterService.recordResponse(eventId, AttendanceStatus.MAYBE, AttendanceStatus.MAYBE);
+
+        verify(counterRepository, never()).applyDelta(any(), anyLong(), anyLong(), anyLong());
+    }
+
+    /**
+     * Test for events without a counter row getting one from a recount
+     */
+    @Test
+    void recordResponse_ShouldCreateCounterFromRecount_WhenCounterMissing() {
+        when(counterRepository.applyDelta(eventId, 0, 1, 0)).thenReturn(0);
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.MAYBE, 3), statusCount(AttendanceStatus.GOING, 2)));
+
+        attendeeCounterService.recordResponse(eventId, null, AttendanceStatus.MAYBE);
+
+        ArgumentCaptor<EventAttendeeCounter> captor = ArgumentCaptor.forClass(EventAttendeeCounter.class);
+        verify(counterRepository).save(captor.capture());
+        assertThat(captor.getValue().getGoingCount()).isEqualTo(2);
+        assertThat(captor.getValue().getMaybeCount()).isEqualTo(3);
+        assertThat(captor.getValue().getAttendeeCount()).isEqualTo(5);
+    }
+
+    /**
+     * Test for a recounted counter row keeping the seat limit of its event
+     */
+    @Test
+    void recordResponse_ShouldCopyCapacity_WhenCounterMissing() {
+        Event event = new Event();
+        event.setCapacity(2);
+        when(counterRepository.applyDelta(eventId, 1, 0, 0)).thenReturn(0);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.GOING, 2)));
+
+        attendeeCounterService.recordResponse(eventId, null, AttendanceStatus.GOING);
+
+        ArgumentCaptor<EventAttendeeCounter> captor = ArgumentCaptor.forClass(EventAttendeeCounter.class);
+        verify(counterRepository).save(captor.capture());
+        assertThat(captor.getValue().getCapacity()).isEqualTo(2);
+    }
+
+    /**
+     * Test for rejecting a GOING response that takes a recounted event over its capacity
+     */
+    @Test
+    void recordResponse_ShouldThrowConflict_WhenRecountIsOverCapacity() {
+        Event event = new Event();
+        event.setCapacity(2);
+        when(counterRepository.applyDelta(eventId, 1, 0, 0)).thenReturn(0);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.GOING, 3)));
+
+        assertThatThrownBy(() -> attendeeCounterService.recordResponse(eventId, null, AttendanceStatus.GOING))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Event is full");
+        verify(counterRepository, never()).save(any());
+    }
+
+    /**
+     * Test for a GOING response being rejected when the conditional update finds the event full
+     */
+    @Test
+    void recordResponse_ShouldThrowConflict_WhenEventIsFull() {
+        when(counterRepository.applyDelta(eventId, 1, 0, 0)).thenReturn(0);
+        when(counterRepository.existsById(eventId)).thenReturn(true);
+
+        assertThatThrownBy(() -> attendeeCounterService.recordResponse(eventId, null, AttendanceStatus.GOING))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Event is full");
+        verify(counterRepository, never()).save(any());
+    }
+
+    /**
+     * Test for a batch recount adding the batch's own responses, which are not written yet
+     */
+    @Test
+    void recordResponses_ShouldAddBatchDeltaToRecount_WhenCounterMissing() {
+        EventAttendeeCounter delta = new EventAttendeeCounter(eventId);
+        delta.increment(AttendanceStatus.GOING, 2);
+        delta.increment(AttendanceStatus.MAYBE, -1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][]{{0}});
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.GOING, 1), statusCount(AttendanceStatus.MAYBE, 4)));
+
+        Set<UUID> full = attendeeCounterService.recordResponses(List.of(delta));
+
+        assertThat(full).isEmpty();
+        ArgumentCaptor<EventAttendeeCounter> captor = ArgumentCaptor.forClass(EventAttendeeCounter.class);
+        verify(counterRepository).save(captor.capture());
+        assertThat(captor.getValue().getGoingCount()).isEqualTo(3);
+        assertThat(captor.getValue().getMaybeCount()).isEqualTo(3);
+    }
+
+    /**
+     * Test for repairing counters that drifted from the attendances table
+     */
+    @Test
+    void repair_ShouldOverwriteCounters_WhenDrifted() {
+        when(counterRepository.findForUpdate(eventId))
+                .thenReturn(Optional.of(new EventAttendeeCounter(eventId, 10, 0, 0, 20)));
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.GOING, 7)));
+
+        boolean repaired = attendeeCounterService.repair(eventId);
+
+        assertThat(repaired).isTrue();
+        ArgumentCaptor<EventAttendeeCounter> captor = ArgumentCaptor.forClass(EventAttendeeCounter.class);
+        verify(counterRepository).save(captor.capture());
+        assertThat(captor.getValue().getGoingCount()).isEqualTo(7);
+        assertThat(captor.getValue().getCapacity()).isEqualTo(20);
+    }
+
+    /**
+     * Test for leaving counters alone when they match the attendances table
+     */
+    @Test
+    void repair_ShouldDoNothing_WhenCountersMatch() {
+        when(counterRepository.findForUpdate(eventId))
+                .thenReturn(Optional.of(new EventAttendeeCounter(eventId, 7, 0, 1, null)));
+        when(attendanceRepository.countByEventIdsGroupedByStatus(List.of(eventId)))
+                .thenReturn(List.of(statusCount(AttendanceStatus.GOING, 7), statusCount(AttendanceStatus.DECLINED, 1)));
+
+        boolean repaired = attendeeCounterService.repair(eventId);
+
+        assertThat(repaired).isFalse();
+        verify(counterRepository, never()).save(any());
+    }
+
+    private AttendanceRepository.EventStatusCount statusCount(AttendanceStatus status, long count) {
+        return new AttendanceRepository.EventStatusCount() {
+            @Override
+            public UUID getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public AttendanceStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getResponseCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -1,12 +1,17 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.auth.AuthResponse;
+import com.eventmanagement.dto.auth.ChangePasswordRequest;
 import com.eventmanagement.dto.auth.RegisterRequest;
 import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.User;
 import com.eventmanagement.mapper.AuthMapper;
 import com.eventmanagement.repository.UserRepository;
+import com.eventmanagement.security.CustomUserDetails;
 import com.eventmanagement.security.JwtUtil;
+import com.eventmanagement.security.TokenRevocationChecker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +19,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +46,10 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private AuthMapper authMapper;
+    @Mock
+    private UserDirectory userDirectory;
+    @Mock
+    private TokenRevocationChecker tokenRevocationChecker;
 
     @InjectMocks
     private AuthService authService;
@@ -56,6 +69,11 @@ class AuthServiceTest {
         user.setId(UUID.randomUUID());
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * This test class is for testing the AuthService methods.
      * It uses Mockito to mock dependencies and verify interactions.
@@ -73,6 +91,7 @@ class AuthServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getToken()).isEqualTo("jwt-token");
         verify(userRepository).save(any(User.class));
+        verify(userDirectory).userChanged(user.getId(), user.getEmail());
     }
 
     /**
@@ -87,4 +106,86 @@ class AuthServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Email is already registered");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for revoking the old tokens on a password change and answering with a token of the new version
+     */
+    @Test
+    void changePassword_ShouldRevokeTokens_WhenCurrentPasswordMatches() {
+        authenticate();
+        ChangePasswordRequest request = changePasswordRequest("password123");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword456")).thenReturn("newEncodedPassword");
+        when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(1L));
+        when(jwtUtil.generateToken(argThat(details -> ((CustomUserDetails) details).getTokenVersion() == 1L)))
+                .thenReturn("new-token");
+        when(authMapper.toUserInfo(user)).thenReturn(new AuthResponse.UserInfo());
+
+        AuthResponse response = authService.changePassword(request);
+
+        assertThat(response.getToken()).isEqualTo("new-token");
+        assertThat(user.getPassword()).isEqualTo("newEncodedPassword");
+        verify(tokenRevocationChecker).revokeTokens(user.getId());
+        verify(userDirectory).userChanged(user.getId(), user.getEmail());
+    }
+
+    /**
+     * Test for keeping the password and the tokens when the current password is wrong
+     */
+    @Test
+    void changePassword_ShouldThrowException_WhenCurrentPasswordDoesNotMatch() {
+        authenticate();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.changePassword(changePasswordRequest("wrong")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Current password does not match");
+
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(tokenRevocationChecker);
+    }
+
+    /**
+     * Test for revoking the tokens that still carry the old role
+     */
+    @Test
+    void changeRole_ShouldRevokeTokens_WhenRoleChanges() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(authMapper.toUserInfo(user)).thenReturn(new AuthResponse.UserInfo());
+
+        authService.changeRole(user.getId(), Role.ADMIN);
+
+        assertThat(user.getRole()).isEqualTo(Role.ADMIN);
+        verify(userRepository).save(user);
+        verify(tokenRevocationChecker).revokeTokens(user.getId());
+        verify(userDirectory).userChanged(user.getId(), user.getEmail());
+    }
+
+    /**
+     * Test for leaving the tokens alone when the role stays the same
+     */
+    @Test
+    void changeRole_ShouldNotRevokeTokens_WhenRoleUnchanged() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(authMapper.toUserInfo(user)).thenReturn(new AuthResponse.UserInfo());
+
+        authService.changeRole(user.getId(), Role.USER);
+
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(tokenRevocationChecker);
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new CustomUserDetails(user), null, List.of()));
+    }
+
+    private ChangePasswordRequest changePasswordRequest(String currentPassword) {
+        ChangePasswordRequest request = new ChangePasswordRequest();
+        request.setCurrentPassword(currentPassword);
+        request.setNewPassword("newPassword456");
+        return request;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.admin.CacheStatisticsResponse;
+import com.eventmanagement.dto.admin.RegionCacheStatistics;
+import com.eventmanagement.entity.Event;
+import com.eventmanagement.entity.Role;
+import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level and query cache hits across transactions. Not transactional, a lookup inside one
+ * transaction is served by the persistence context and never reaches the second-level cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheStatisticsServiceIntegrationTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Cached User", "cached@second-level.test", "not-a-hash", Role.USER));
+        event = eventRepository.save(new Event("Cached event", "Second-level cache test", user.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(2),
+                "Test Location", Visibility.PUBLIC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteById(event.getId());
+        userRepository.delete(user);
+    }
+
+    /**
+     * Test for serving repeated event lookups from the second-level cache
+     */
+    @Test
+    void getCacheStatistics_ShouldCountEventRegionHits_WhenEventLoadedAgain() {
+        long before = eventRegion(cacheStatisticsService.getCacheStatistics()).getHitCount();
+
+        eventRepository.findById(event.getId()).orElseThrow();
+        eventRepository.findById(event.getId()).orElseThrow();
+
+        CacheStatisticsResponse statistics = cacheStatisticsService.getCacheStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        assertThat(eventRegion(statistics).getHitCount()).isEqualTo(before + 2);
+        assertThat(eventRegion(statistics).getHitRatio()).isNotNull();
+    }
+
+    /**
+     * Test for serving a repeated lookup by email from the query cache
+     */
+    @Test
+    void getCacheStatistics_ShouldCountQueryCacheHit_WhenUserLoadedByEmailAgain() {
+        long before = cacheStatisticsService.getCacheStatistics().getQueryCache().getHitCount();
+
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+
+        assertThat(cacheStatisticsService.getCacheStatistics().getQueryCache().getHitCount()).isEqualTo(before + 1);
+    }
+
+    private RegionCacheStatistics eventRegion(CacheStatisticsResponse statistics) {
+        return statistics.getRegions().stream()
+                .filter(region -> region.getRegion().equals("event"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
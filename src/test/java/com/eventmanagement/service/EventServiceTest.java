@@ -1,32 +1,47 @@
 package com.eventmanagement.service;
 
+import com.eventmanagement.cache.EventCacheInvalidator;
+import com.eventmanagement.cache.EventTotals;
+import com.eventmanagement.cache.UserDirectory;
 import com.eventmanagement.dto.event.CreateEventRequest;
 import com.eventmanagement.dto.event.EventResponse;
+import com.eventmanagement.dto.event.UpdateEventRequest;
+import com.eventmanagement.dto.page.SliceResponse;
+import com.eventmanagement.dto.user.UserSummary;
 import com.eventmanagement.entity.Event;
-import com.eventmanagement.entity.User;
+import com.eventmanagement.entity.EventAttendeeCounter;
+import com.eventmanagement.entity.Role;
 import com.eventmanagement.entity.Visibility;
+import com.eventmanagement.exception.PreconditionFailedException;
 import com.eventmanagement.mapper.EventMapper;
-import com.eventmanagement.repository.AttendanceRepository;
 import com.eventmanagement.repository.EventRepository;
-import com.eventmanagement.repository.UserRepository;
 import com.eventmanagement.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,12 +50,16 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
     @Mock
-    private AttendanceRepository attendanceRepository;
+    private AttendeeCounterService attendeeCounterService;
     @Mock
     private EventMapper eventMapper;
     @Mock
+    private EventCacheInvalidator eventCacheInvalidator;
+    @Mock
+    private EventTotals eventTotals;
+    @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
@@ -52,7 +71,7 @@ class EventServiceTest {
 
     private CreateEventRequest createEventRequest;
     private Event event;
-    private User user;
+    private UserSummary user;
     private UUID userId;
 
     @BeforeEach
@@ -71,9 +90,7 @@ class EventServiceTest {
         event.setTitle("Test Event");
         event.setHostId(userId);
 
-        user = new User();
-        user.setId(userId);
-        user.setName("Test User");
+        user = new UserSummary(userId, "Test User", "user@test.com", Role.USER);
 
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
@@ -81,6 +98,11 @@ class EventServiceTest {
         when(userDetails.getId()).thenReturn(userId);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * Test for creating an event
      */
@@ -88,14 +110,15 @@ class EventServiceTest {
     void createEvent_ShouldCreateEvent_WhenValidRequest() {
         when(eventMapper.toEntity(any())).thenReturn(event);
         when(eventRepository.save(any(Event.class))).thenReturn(event);
-        when(attendanceRepository.countByEventId(any())).thenReturn(0L);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(eventMapper.toResponse(any(), anyString(), anyLong())).thenReturn(new EventResponse());
+        when(attendeeCounterService.initialize(event.getId(), null)).thenReturn(new EventAttendeeCounter(event.getId()));
+        when(userDirectory.findById(userId)).thenReturn(Optional.of(user));
+        when(eventMapper.toResponse(any(), anyString(), any())).thenReturn(new EventResponse());
 
         EventResponse response = eventService.createAnEvent(createEventRequest);
 
         assertThat(response).isNotNull();
         verify(eventRepository).save(any(Event.class));
+        verify(attendeeCounterService).initialize(event.getId(), null);
     }
 
     /**
@@ -109,4 +132,65 @@ class EventServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("ENd time should be after the start time");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for rejecting an update made against an older version of the event
+     */
+    @Test
+    void updateEvent_ShouldThrowPreconditionFailed_WhenVersionIsStale() {
+        event.setVersion(3L);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        assertThatThrownBy(() -> eventService.updateAnEvent(event.getId(), new UpdateEventRequest(), 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(eventMapper, never()).updateEntityFromRequest(any(), any());
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Test for listing hosted events resolving the whole page with batched lookups
+     */
+    @Test
+    void getEventsHostedByUser_ShouldBatchHostNamesAndAttendeeCounts() {
+        Event secondEvent = new Event();
+        secondEvent.setId(UUID.randomUUID());
+        secondEvent.setTitle("Second Event");
+        secondEvent.setHostId(userId);
+
+        Pageable pageable = PageRequest.of(0, 20);
+        when(eventRepository.findByHostId(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(event, secondEvent), pageable, 2));
+        when(attendeeCounterService.getCounts(anyCollection())).thenReturn(Map.of());
+        when(userDirectory.findNames(anyCollection())).thenReturn(Map.of(userId, "Test User"));
+        when(eventMapper.toResponse(any(), anyString(), any())).thenReturn(new EventResponse());
+
+        Page<EventResponse> response = eventService.getEventsHostedByUser(pageable);
+
+        assertThat(response.getContent()).hasSize(2);
+        verify(attendeeCounterService).getCounts(anyCollection());
+        verify(userDirectory).findNames(anyCollection());
+        verify(attendeeCounterService, never()).getCounts(any(UUID.class));
+        verify(userDirectory, never()).findById(any());
+    }
+
+    /**
+     * Test for slice listings skipping the count query unless a total is asked for
+     */
+    @Test
+    void getEventsHostedByUser_ShouldNotCount_WhenSliceWithoutTotal() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(eventRepository.findSliceByHostId(userId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(event), pageable, true));
+        when(attendeeCounterService.getCounts(anyCollection())).thenReturn(Map.of());
+        when(userDirectory.findNames(anyCollection())).thenReturn(Map.of(userId, "Test User"));
+        when(eventMapper.toResponse(any(), anyString(), any())).thenReturn(new EventResponse());
+
+        SliceResponse<EventResponse> response = eventService.getEventsHostedByUser(pageable, false);
+
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getTotalElements()).isNull();
+        verify(eventRepository, never()).findByHostId(any(), any());
+        verifyNoInteractions(eventTotals);
+    }
+}